@@ -0,0 +1,73 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.benchmark;
+
+import cc.redpen.CorpusGenerator;
+
+import java.util.List;
+
+/**
+ * Synthetic documents for benchmarks, generated by {@link cc.redpen.CorpusGenerator} from a fixed seed
+ * so that every run of a benchmark sees the same input.
+ */
+public final class BenchmarkCorpus {
+    /**
+     * Seed of the generated documents.
+     */
+    public static final long SEED = 20141027L;
+
+    private BenchmarkCorpus() {
+    }
+
+    /**
+     * Returns a generator of documents with the default settings.
+     *
+     * @param lang   language of the documents, "en" or "ja"
+     * @param format format of the documents, "plain", "wiki" or "markdown"
+     * @return corpus generator builder
+     */
+    public static CorpusGenerator.CorpusGeneratorBuilder builder(String lang, String format) {
+        return new CorpusGenerator.CorpusGeneratorBuilder()
+                .setSeed(SEED)
+                .setLanguage(lang)
+                .setFormat(format);
+    }
+
+    /**
+     * Generate a document.
+     *
+     * @param lang     language of the document, "en" or "ja"
+     * @param format   format of the document, "plain", "wiki" or "markdown"
+     * @param sections the number of sections
+     * @return document content
+     */
+    public static String generate(String lang, String format, int sections) {
+        return builder(lang, format).setSections(sections).build().generate(0);
+    }
+
+    /**
+     * Generate sentences.
+     *
+     * @param lang  language of the sentences, "en" or "ja"
+     * @param count the number of sentences
+     * @return list of sentences
+     */
+    public static List<String> sentences(String lang, int count) {
+        return builder(lang, "plain").build().generateSentences(count);
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks of validators applied to an English document.
+ */
+@State(Scope.Thread)
+public class EnglishValidatorBenchmark extends ValidatorBenchmark {
+    @Param({
+            // sentence validators
+            "CommaNumber", "Contraction", "DoubledWord", "EndOfSentence", "InvalidExpression",
+            "InvalidSymbol", "InvalidWord", "Quotation", "SentenceLength", "SpaceBeginningOfSentence",
+            "Spelling", "StartWithCapitalLetter", "SuccessiveWord", "SuggestExpression", "SymbolWithSpace",
+            "WordNumber",
+            // section validators
+            "DuplicatedSection", "ParagraphNumber", "ParagraphStartWith", "SectionLength"
+    })
+    public String validator;
+
+    @Override
+    protected String getLanguage() {
+        return "en";
+    }
+
+    @Override
+    protected String getValidatorName() {
+        return validator;
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.benchmark;
+
+import cc.redpen.RedPenException;
+import cc.redpen.config.Configuration;
+import cc.redpen.model.Document;
+import cc.redpen.parser.DocumentParser;
+import cc.redpen.parser.SentenceExtractor;
+import cc.redpen.tokenizer.RedPenTokenizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of document parsers, including sentence splitting and tokenization.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class ParserBenchmark {
+    @Param({"en", "ja"})
+    public String lang;
+
+    @Param({"plain", "wiki", "markdown"})
+    public String format;
+
+    @Param({"50"})
+    public int sections;
+
+    private DocumentParser parser;
+    private SentenceExtractor extractor;
+    private RedPenTokenizer tokenizer;
+    private String content;
+
+    @Setup
+    public void setUp() {
+        Configuration configuration = new Configuration.ConfigurationBuilder().setLanguage(lang).build();
+        parser = DocumentParser.of(format);
+        extractor = new SentenceExtractor(configuration.getSymbolTable());
+        tokenizer = configuration.getTokenizer();
+        content = BenchmarkCorpus.generate(lang, format, sections);
+    }
+
+    @Benchmark
+    public Document parse() throws RedPenException {
+        return parser.parse(content, extractor, tokenizer);
+    }
+}
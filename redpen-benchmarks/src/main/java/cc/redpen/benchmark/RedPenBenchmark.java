@@ -0,0 +1,78 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.benchmark;
+
+import cc.redpen.RedPen;
+import cc.redpen.RedPenException;
+import cc.redpen.model.Document;
+import cc.redpen.parser.DocumentParser;
+import cc.redpen.validator.ValidationError;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the whole pipeline with the validators of the sample configurations of redpen-cli.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class RedPenBenchmark {
+    @Param({"en", "ja"})
+    public String lang;
+
+    @Param({"50"})
+    public int sections;
+
+    private RedPen redPen;
+    private String content;
+    private List<Document> documents;
+
+    @Setup
+    public void setUp() throws RedPenException {
+        redPen = new RedPen("/conf/redpen-conf-" + lang + ".xml");
+        content = BenchmarkCorpus.generate(lang, "markdown", sections);
+        documents = Collections.singletonList(redPen.parse(DocumentParser.MARKDOWN, content));
+    }
+
+    @Benchmark
+    public Map<Document, List<ValidationError>> validate() {
+        return redPen.validate(documents);
+    }
+
+    @Benchmark
+    public Map<Document, List<ValidationError>> parseAndValidate() throws RedPenException {
+        return redPen.validate(Collections.singletonList(redPen.parse(DocumentParser.MARKDOWN, content)));
+    }
+}
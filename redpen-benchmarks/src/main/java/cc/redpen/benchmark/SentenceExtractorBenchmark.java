@@ -0,0 +1,99 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.benchmark;
+
+import cc.redpen.config.Configuration;
+import cc.redpen.model.Sentence;
+import cc.redpen.parser.SentenceExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of sentence splitting. Each invocation processes 1000 lines of four sentences.
+ * The abbreviations parameter adds synthetic abbreviations to the default ones to see that
+ * the cost does not depend on the number of abbreviations.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class SentenceExtractorBenchmark {
+    @Param({"en", "ja"})
+    public String lang;
+
+    @Param({"0", "10000"})
+    public int abbreviations;
+
+    private SentenceExtractor extractor;
+    private String[] lines;
+
+    @Setup
+    public void setUp() {
+        Configuration configuration = new Configuration.ConfigurationBuilder().setLanguage(lang).build();
+        List<String> abbreviationList = new ArrayList<>();
+        for (int i = 0; i < abbreviations; i++) {
+            abbreviationList.add("abbr" + i + ".");
+        }
+        extractor = new SentenceExtractor(configuration.getSymbolTable(), abbreviationList);
+        List<String> sentences = BenchmarkCorpus.sentences(lang, 4000);
+        String separator = lang.equals("ja") ? "" : " ";
+        lines = new String[sentences.size() / 4];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = String.join(separator, sentences.subList(i * 4, i * 4 + 4));
+        }
+    }
+
+    @Benchmark
+    public List<Sentence> extract() {
+        List<Sentence> sentences = new ArrayList<>();
+        for (int i = 0; i < lines.length; i++) {
+            extractor.extract(lines[i], sentences, i);
+        }
+        return sentences;
+    }
+
+    /**
+     * Measures {@link cc.redpen.util.EndOfSentenceDetector#getSentenceEndPosition(String)} configured
+     * by the extractor.
+     *
+     * @return sum of the positions
+     */
+    @Benchmark
+    public int getSentenceEndPosition() {
+        int sum = 0;
+        for (String line : lines) {
+            sum += extractor.getSentenceEndPosition(line);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.benchmark;
+
+import cc.redpen.util.WordTrie;
+import cc.redpen.util.DictionaryRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of spelling suggestions. Each invocation looks up the suggestions for one misspelled word,
+ * made by a random edit of a word in the English spelling dictionary.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class SpellingSuggestionBenchmark {
+    private static final int WORDS = 1000;
+
+    @Param({"1", "2"})
+    public int maxDistance;
+
+    private WordTrie trie;
+    private List<String> misspelled;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        Set<String> dictionary = DictionaryRegistry.getWordListFromResource(
+                "default-resources/spellchecker/spellchecker-en.dat", true);
+        trie = new WordTrie(dictionary);
+        List<String> words = new ArrayList<>(dictionary);
+        Random random = new Random(1);
+        misspelled = new ArrayList<>();
+        for (int i = 0; i < WORDS; i++) {
+            StringBuilder word = new StringBuilder(words.get(random.nextInt(words.size())));
+            int position = random.nextInt(word.length());
+            word.setCharAt(position, (char) ('a' + random.nextInt(26)));
+            misspelled.add(word.toString());
+        }
+    }
+
+    @Benchmark
+    public List<String> search() {
+        String word = misspelled.get(next);
+        next = (next + 1) % misspelled.size();
+        return trie.search(word, maxDistance, 3);
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.benchmark;
+
+import cc.redpen.tokenizer.JapaneseTokenizer;
+import cc.redpen.tokenizer.RedPenTokenizer;
+import cc.redpen.tokenizer.TokenElement;
+import cc.redpen.tokenizer.WhiteSpaceTokenizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of tokenizers. Each invocation tokenizes 1000 sentences,
+ * which are grouped into paragraphs of {@value #PARAGRAPH_SIZE} sentences for paragraph tokenization.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class TokenizerBenchmark {
+    static final int PARAGRAPH_SIZE = 5;
+
+    @Param({"whitespace", "japanese", "japanese-paragraph"})
+    public String tokenizer;
+
+    private RedPenTokenizer redPenTokenizer;
+    private List<String> sentences;
+    private List<List<String>> paragraphs;
+
+    @Setup
+    public void setUp() {
+        if (tokenizer.startsWith("japanese")) {
+            redPenTokenizer = new JapaneseTokenizer(tokenizer.equals("japanese-paragraph"));
+            sentences = BenchmarkCorpus.sentences("ja", 1000);
+        } else {
+            redPenTokenizer = new WhiteSpaceTokenizer();
+            sentences = BenchmarkCorpus.sentences("en", 1000);
+        }
+        paragraphs = new ArrayList<>();
+        for (int i = 0; i < sentences.size(); i += PARAGRAPH_SIZE) {
+            paragraphs.add(sentences.subList(i, Math.min(i + PARAGRAPH_SIZE, sentences.size())));
+        }
+    }
+
+    @Benchmark
+    public int tokenize() {
+        int tokens = 0;
+        if (redPenTokenizer.isParagraphTokenization()) {
+            for (List<String> paragraph : paragraphs) {
+                for (List<TokenElement> sentenceTokens : redPenTokenizer.tokenize(paragraph)) {
+                    tokens += sentenceTokens.size();
+                }
+            }
+            return tokens;
+        }
+        for (String sentence : sentences) {
+            tokens += redPenTokenizer.tokenize(sentence).size();
+        }
+        return tokens;
+    }
+}
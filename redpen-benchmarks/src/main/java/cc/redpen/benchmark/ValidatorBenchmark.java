@@ -0,0 +1,108 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.benchmark;
+
+import cc.redpen.RedPen;
+import cc.redpen.RedPenException;
+import cc.redpen.config.Configuration;
+import cc.redpen.config.ValidatorConfiguration;
+import cc.redpen.model.Document;
+import cc.redpen.parser.DocumentParser;
+import cc.redpen.validator.ValidationError;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of a single validator applied to a synthetic markdown document of 50 sections.
+ * Validators are run through {@link cc.redpen.RedPen} so that pre-validation is included.
+ * Subclasses give the language and the validator names.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public abstract class ValidatorBenchmark {
+    private RedPen redPen;
+    private List<Document> documents;
+    private Path dictionary;
+
+    /**
+     * Returns the language of the document and the configuration.
+     *
+     * @return language
+     */
+    protected abstract String getLanguage();
+
+    /**
+     * Returns the name of the validator to measure.
+     *
+     * @return validator name
+     */
+    protected abstract String getValidatorName();
+
+    @Setup
+    public void setUp() throws RedPenException, IOException {
+        ValidatorConfiguration validatorConfiguration = new ValidatorConfiguration(getValidatorName());
+        if (getValidatorName().equals("SuggestExpression")) {
+            // SuggestExpression has no default dictionary
+            dictionary = Files.createTempFile("redpen-benchmark", ".dat");
+            String entry = getLanguage().equals("ja") ? "利用者\tユーザ" : "utilize\tuse";
+            Files.write(dictionary, Collections.singletonList(entry), StandardCharsets.UTF_8);
+            validatorConfiguration.addAttribute("dict", dictionary.toString());
+        }
+        Configuration configuration = new Configuration.ConfigurationBuilder()
+                .setLanguage(getLanguage())
+                .addValidatorConfig(validatorConfiguration)
+                .build();
+        redPen = new RedPen(configuration);
+        documents = Collections.singletonList(redPen.parse(DocumentParser.MARKDOWN,
+                BenchmarkCorpus.generate(getLanguage(), "markdown", 50)));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (dictionary != null) {
+            Files.deleteIfExists(dictionary);
+        }
+    }
+
+    @Benchmark
+    public Map<Document, List<ValidationError>> validate() {
+        return redPen.validate(documents);
+    }
+}
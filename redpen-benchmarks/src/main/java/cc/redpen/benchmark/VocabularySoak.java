@@ -0,0 +1,95 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.benchmark;
+
+import cc.redpen.RedPen;
+import cc.redpen.RedPenException;
+import cc.redpen.config.Configuration;
+import cc.redpen.config.ValidatorConfiguration;
+import cc.redpen.model.Document;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * Soak test of the katakana vocabulary learned in each validation run. Validates many requests with one
+ * {@link RedPen} and checks that no error leaks across requests and that the heap after GC stays flat.
+ * Run it from the benchmark jar:
+ * <pre>java -cp redpen-benchmarks.jar cc.redpen.benchmark.VocabularySoak [requests]</pre>
+ */
+public final class VocabularySoak {
+    private static final int DEFAULT_REQUESTS = 100000;
+    private static final int ROUNDS = 10;
+    private static final long MAX_HEAP_GROWTH = 16 * 1024 * 1024;
+
+    private VocabularySoak() {
+        super();
+    }
+
+    public static void main(String... args) throws RedPenException {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_REQUESTS;
+        Configuration config = new Configuration.ConfigurationBuilder()
+                .addValidatorConfig(new ValidatorConfiguration("KatakanaSpellCheck"))
+                .build();
+        RedPen redPen = new RedPen(config);
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        int perRound = requests / ROUNDS;
+        long firstHeap = 0;
+        long lastHeap = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = round * perRound; i < (round + 1) * perRound; i++) {
+                // consecutive words differ only in the last character, so they would be reported
+                // as similar if the vocabulary learned in one request leaked into the next one
+                Document document = new Document.DocumentBuilder()
+                        .addSection(1)
+                        .addParagraph()
+                        .addSentence("あの" + generateKatakanaWord(i) + "にバグがある", 1)
+                        .build();
+                if (!redPen.validate(document).isEmpty()) {
+                    System.err.println("Error leaked into request " + i);
+                    System.exit(1);
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            System.gc();
+            long heap = memory.getHeapMemoryUsage().getUsed();
+            // the first round warms up the JVM
+            if (round == 1) {
+                firstHeap = heap;
+            }
+            lastHeap = heap;
+            System.out.printf("round %d: %.3f us/request, heap after GC %d KB%n",
+                    round, elapsed / 1000.0 / perRound, heap / 1024);
+        }
+        if (lastHeap - firstHeap > MAX_HEAP_GROWTH) {
+            System.err.printf("Heap grew by %d KB%n", (lastHeap - firstHeap) / 1024);
+            System.exit(1);
+        }
+    }
+
+    static String generateKatakanaWord(int seed) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < 6; i++) {
+            word.insert(0, (char) ('ア' + seed % 40));
+            seed /= 40;
+        }
+        return word.toString();
+    }
+}
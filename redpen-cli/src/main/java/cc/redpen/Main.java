@@ -21,9 +21,12 @@ import cc.redpen.formatter.Formatter;
 import cc.redpen.formatter.JSONFormatter;
 import cc.redpen.formatter.PlainFormatter;
 import cc.redpen.formatter.XMLFormatter;
+import cc.redpen.metrics.RedPenMetrics;
+import cc.redpen.metrics.ValidatorMetrics;
 import cc.redpen.model.Document;
 import cc.redpen.parser.DocumentParser;
 import cc.redpen.validator.ValidationError;
+import cc.redpen.validator.ValidationErrorListener;
 import org.apache.commons.cli.BasicParser;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -35,8 +38,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Class containing main method called from command line.
@@ -50,6 +56,8 @@ public final class Main {
 
     private static final int EDEFAULT_LIMIT = 1;
 
+    private static final int DEFAULT_THREADS = 1;
+
     private Main() {
         super();
     }
@@ -92,6 +100,18 @@ public final class Main {
         OptionBuilder.withArgName("LIMIT NUMBER");
         options.addOption(OptionBuilder.create("l"));
 
+        OptionBuilder.withLongOpt("threads");
+        OptionBuilder.withDescription("number of threads to validate documents");
+        OptionBuilder.hasArg();
+        OptionBuilder.withArgName("THREAD NUMBER");
+        options.addOption(OptionBuilder.create("t"));
+
+        options.addOption("s", "fail-fast", false,
+                "Stop parsing and validating as soon as the errors exceed the limit, in a single thread");
+
+        options.addOption("p", "profile", false,
+                "Print time spent in parsing and each validator to standard error");
+
         options.addOption("v", "version", false,
                 "Displays version information and exits");
 
@@ -109,6 +129,7 @@ public final class Main {
         String configFileName = "";
         String resultFormat = "plain";
         int limit = EDEFAULT_LIMIT;
+        int threads = DEFAULT_THREADS;
 
         if (commandLine.hasOption("h")) {
             printHelp(options);
@@ -130,6 +151,9 @@ public final class Main {
         if (commandLine.hasOption("l")) {
             limit = Integer.valueOf(commandLine.getOptionValue("l"));
         }
+        if (commandLine.hasOption("t")) {
+            threads = Integer.valueOf(commandLine.getOptionValue("t"));
+        }
 
         String[] inputFileNames = commandLine.getArgs();
         File[] inputFiles = new File[inputFileNames.length];
@@ -156,16 +180,59 @@ public final class Main {
         }
 
         RedPen redPen = new RedPen(new File(configFileName));
+        boolean profile = commandLine.hasOption("p");
+        redPen.getMetrics().setEnabled(profile);
+        if (commandLine.hasOption("s")) {
+            if (threads > 1) {
+                LOG.warn("Validating documents in a single thread with --fail-fast, ignoring --threads {}", threads);
+            }
+            Map<Document, List<ValidationError>> documentListMap = new LinkedHashMap<>();
+            // documents without errors are reported as well, as in the result of validating all the documents
+            boolean exceeded = redPen.validate(parser, inputFiles, new ValidationErrorListener() {
+                @Override
+                public void onDocument(Document document) {
+                    documentListMap.put(document, new ArrayList<>());
+                }
+
+                @Override
+                public void onError(Document document, ValidationError error) {
+                    documentListMap.get(document).add(error);
+                }
+            }, limit);
+            System.out.println(formatter.format(documentListMap));
+            if (profile) {
+                printProfile(redPen.getMetrics());
+            }
+            if (exceeded) {
+                LOG.error("The number of errors is larger than specified (limit is \"{}\").", limit);
+                return 1;
+            }
+            return 0;
+        }
+
         List<Document> documents = redPen.parse(parser, inputFiles);
         if (documents == null) {
             LOG.error("Failed to create a DocumentCollection object");
             return -1;
         }
-        Map<Document, List<ValidationError>> documentListMap = redPen.validate(documents);
+        Map<Document, List<ValidationError>> documentListMap;
+        if (threads > 1) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                documentListMap = redPen.validate(documents, pool);
+            } finally {
+                pool.shutdown();
+            }
+        } else {
+            documentListMap = redPen.validate(documents);
+        }
         String result = formatter.format(documentListMap);
         System.out.println(result);
+        if (profile) {
+            printProfile(redPen.getMetrics());
+        }
 
-        long errorCount = documentListMap.values().stream().map(List::size).count();
+        long errorCount = documentListMap.values().stream().mapToInt(List::size).sum();
 
         if (errorCount > limit) {
             LOG.error("The number of errors \"{}\" is larger than specified (limit is \"{}\").", errorCount, limit);
@@ -175,6 +242,33 @@ public final class Main {
         }
     }
 
+    private static void printProfile(RedPenMetrics metrics) {
+        System.err.printf("%-34s %-12s %10s %12s%n", "Name", "Hook", "Calls", "Time(ms)");
+        System.err.printf("%-34s %-12s %10d %12.3f%n", "parser", "parse", metrics.getParseCalls(),
+                toMillis(metrics.getParseTimeNanos()));
+        System.err.printf("%-34s %-12s %10d %12.3f%n", "tokenizer", "tokenize", metrics.getTokenizeCalls(),
+                toMillis(metrics.getTokenizeTimeNanos()));
+        for (ValidatorMetrics validatorMetrics : metrics.getValidatorMetrics()) {
+            String name = validatorMetrics.getValidatorName();
+            for (ValidatorMetrics.Hook hook : ValidatorMetrics.Hook.values()) {
+                if (validatorMetrics.getCalls(hook) > 0) {
+                    System.err.printf("%-34s %-12s %10d %12.3f%n", name, hook.name().toLowerCase(),
+                            validatorMetrics.getCalls(hook), toMillis(validatorMetrics.getTimeNanos(hook)));
+                }
+            }
+            if (validatorMetrics.getSentenceCalls() > 0) {
+                System.err.printf("%-34s sentence latency p50 < %d ns, p99 < %d ns%n", name,
+                        validatorMetrics.getSentenceLatencyPercentile(50) + 1,
+                        validatorMetrics.getSentenceLatencyPercentile(99) + 1);
+            }
+            System.err.printf("%-34s errors %d%n", name, validatorMetrics.getErrorCount());
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1000000.0;
+    }
+
     private static void printHelp(Options opt) {
         HelpFormatter formatter = new HelpFormatter();
         formatter.setWidth(100);
@@ -32,6 +32,50 @@ public class MainTest {
         Main.run(args);
     }
 
+    @Test
+    public void testMainWithThreads() throws RedPenException {
+        String[] args = new String[]{
+            "-c", "sample/conf/redpen-conf-en.xml",
+                "-t", "2",
+                "sample/sample-doc/en/sampledoc-en.txt"
+        };
+        Main.run(args);
+    }
+
+    @Test
+    public void testMainWithFailFast() throws RedPenException {
+        String[] args = new String[]{
+            "-c", "sample/conf/redpen-conf-en.xml",
+                "-s",
+                "-l", "0",
+                "sample/sample-doc/en/sampledoc-en.txt",
+                "sample/sample-doc/en/sampledoc-en.txt"
+        };
+        assertEquals(1, Main.run(args));
+    }
+
+    @Test
+    public void testMainWithFailFastAndThreads() throws RedPenException {
+        String[] args = new String[]{
+            "-c", "sample/conf/redpen-conf-en.xml",
+                "-s",
+                "-t", "2",
+                "-r", "json",
+                "sample/sample-doc/en/sampledoc-en.txt"
+        };
+        assertEquals(1, Main.run(args));
+    }
+
+    @Test
+    public void testMainWithProfile() throws RedPenException {
+        String[] args = new String[]{
+            "-c", "sample/conf/redpen-conf-en.xml",
+                "-p",
+                "sample/sample-doc/en/sampledoc-en.txt"
+        };
+        Main.run(args);
+    }
+
     @Test
     public void testHelp() throws RedPenException {
         assertEquals(0, Main.run("-h"));
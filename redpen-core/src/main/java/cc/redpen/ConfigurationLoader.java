@@ -21,6 +21,7 @@ import cc.redpen.config.Configuration;
 import cc.redpen.config.Symbol;
 import cc.redpen.config.SymbolType;
 import cc.redpen.config.ValidatorConfiguration;
+import cc.redpen.util.DictionaryRegistry;
 import cc.redpen.util.SAXErrorHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -152,6 +153,21 @@ public final class ConfigurationLoader {
             LOG.info("Set language to en");
         }
 
+        Node tokenizationNode = rootElement.getAttributes().getNamedItem("tokenization");
+        if (tokenizationNode != null) {
+            String tokenization = tokenizationNode.getNodeValue();
+            switch (tokenization) {
+                case "sentence":
+                    break;
+                case "paragraph":
+                    configBuilder.setParagraphTokenization(true);
+                    break;
+                default:
+                    throw new RedPenException("Unknown tokenization: " + tokenization);
+            }
+            LOG.info("Tokenization is set to \"{}\"", tokenization);
+        }
+
         // extract validator configurations
         NodeList validatorConfigElementList =
                 getSpecifiedNodeList(rootElement, "validators");
@@ -175,6 +191,13 @@ public final class ConfigurationLoader {
         } else {
             extractSymbolConfig(symbolTableConfigElementList, language);
         }
+
+        // extract abbreviations
+        NodeList abbreviationsConfigElementList =
+                getSpecifiedNodeList(rootElement, "abbreviations");
+        if (abbreviationsConfigElementList != null) {
+            extractAbbreviations((Element) abbreviationsConfigElementList.item(0));
+        }
         return configBuilder.build();
     }
 
@@ -236,6 +259,26 @@ public final class ConfigurationLoader {
         }
     }
 
+    private void extractAbbreviations(Element abbreviationsElement) throws RedPenException {
+        if (abbreviationsElement.hasAttribute("dict")) {
+            String dictionaryFile = abbreviationsElement.getAttribute("dict");
+            LOG.info("Loading abbreviation dictionary \"{}\"", dictionaryFile);
+            try {
+                configBuilder.addAbbreviations(DictionaryRegistry.getWordList(new File(dictionaryFile), false));
+            } catch (IOException e) {
+                throw new RedPenException("Failed to load abbreviation dictionary: " + dictionaryFile, e);
+            }
+        }
+        NodeList abbreviationElementList = abbreviationsElement.getElementsByTagName("abbreviation");
+        for (int i = 0; i < abbreviationElementList.getLength(); i++) {
+            Element element = (Element) abbreviationElementList.item(i);
+            if (!element.hasAttribute("value")) {
+                throw new IllegalStateException("Found abbreviation element does not have value attribute...");
+            }
+            configBuilder.addAbbreviation(element.getAttribute("value"));
+        }
+    }
+
     private NodeList getSpecifiedNodeList(Element rootElement, String elementName) {
         NodeList elementList =
                 rootElement.getElementsByTagName(elementName);
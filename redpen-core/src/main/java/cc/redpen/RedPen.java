@@ -19,10 +19,13 @@ package cc.redpen;
 
 import cc.redpen.config.Configuration;
 import cc.redpen.config.ValidatorConfiguration;
-import cc.redpen.model.*;
+import cc.redpen.metrics.RedPenMetrics;
+import cc.redpen.model.Document;
 import cc.redpen.parser.DocumentParser;
 import cc.redpen.parser.SentenceExtractor;
+import cc.redpen.tokenizer.RedPenTokenizer;
 import cc.redpen.validator.ValidationError;
+import cc.redpen.validator.ValidationErrorListener;
 import cc.redpen.validator.Validator;
 import cc.redpen.validator.ValidatorFactory;
 import org.slf4j.Logger;
@@ -32,11 +35,19 @@ import java.io.File;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 /**
  * Validate all input files using appended Validators.
+ * <p>
+ * Each call of the validate methods is a separate validation run: state collected by validators from the
+ * documents of a run is not visible to other runs, so that a RedPen instance can be shared between threads.
  */
 public class RedPen {
     private static final Logger LOG = LoggerFactory.getLogger(RedPen.class);
@@ -44,6 +55,8 @@ public class RedPen {
     private final List<Validator> validators = new ArrayList<>();
     private final Configuration configuration;
     private final SentenceExtractor sentenceExtractor;
+    private final ValidationPlan plan;
+    private final RedPenMetrics metrics;
 
     /**
      * constructs RedPen with specified config file
@@ -70,13 +83,26 @@ public class RedPen {
      */
     public RedPen(Configuration configuration) throws RedPenException {
         this.configuration = configuration;
-        this.sentenceExtractor = new SentenceExtractor(this.configuration.getSymbolTable());
+        this.sentenceExtractor = new SentenceExtractor(this.configuration.getSymbolTable(),
+                this.configuration.getAbbreviations());
 
         // load validators
         for (ValidatorConfiguration config : configuration.getValidatorConfigs()) {
             Validator validator = ValidatorFactory.getInstance(config, configuration.getSymbolTable());
             this.validators.add(validator);
         }
+        this.plan = new ValidationPlan(validators);
+        this.metrics = new RedPenMetrics(validators);
+    }
+
+    /**
+     * Get the metrics of validation runs. Metrics are collected once enabled by
+     * {@link cc.redpen.metrics.RedPenMetrics#setEnabled(boolean)}.
+     *
+     * @return metrics of this RedPen
+     */
+    public RedPenMetrics getMetrics() {
+        return metrics;
     }
 
     /**
@@ -88,7 +114,10 @@ public class RedPen {
      * @throws RedPenException
      */
     public Document parse(DocumentParser parser, InputStream InputStream) throws RedPenException {
-        return parser.parse(InputStream, sentenceExtractor, configuration.getTokenizer());
+        long start = System.nanoTime();
+        Document document = parser.parse(InputStream, sentenceExtractor, getTokenizer());
+        recordParse(start);
+        return document;
     }
 
     /**
@@ -100,7 +129,10 @@ public class RedPen {
      * @throws RedPenException
      */
     public Document parse(DocumentParser parser, String content) throws RedPenException {
-        return parser.parse(content, sentenceExtractor, configuration.getTokenizer());
+        long start = System.nanoTime();
+        Document document = parser.parse(content, sentenceExtractor, getTokenizer());
+        recordParse(start);
+        return document;
     }
 
     /**
@@ -114,11 +146,28 @@ public class RedPen {
     public List<Document> parse(DocumentParser parser, File[] files) throws RedPenException {
         List<Document> documents = new ArrayList<>();
         for (File file : files) {
-            documents.add(parser.parse(file, sentenceExtractor, configuration.getTokenizer()));
+            documents.add(parse(parser, file));
         }
         return documents;
     }
 
+    private Document parse(DocumentParser parser, File file) throws RedPenException {
+        long start = System.nanoTime();
+        Document document = parser.parse(file, sentenceExtractor, getTokenizer());
+        recordParse(start);
+        return document;
+    }
+
+    private RedPenTokenizer getTokenizer() {
+        return metrics.isEnabled() ? metrics.instrument(configuration.getTokenizer()) : configuration.getTokenizer();
+    }
+
+    private void recordParse(long start) {
+        if (metrics.isEnabled()) {
+            metrics.recordParse(System.nanoTime() - start);
+        }
+    }
+
     /**
      * Validate the input document collection.
      *
@@ -127,10 +176,13 @@ public class RedPen {
      */
     public Map<Document, List<ValidationError>> validate(List<Document> documents) {
         Map<Document, List<ValidationError>> docErrorsMap = new HashMap<>();
-        documents.forEach(e -> docErrorsMap.put(e, new ArrayList<>()));
-        runDocumentValidators(documents, docErrorsMap);
-        runSectionValidators(documents, docErrorsMap);
-        runSentenceValidators(documents, docErrorsMap);
+        ValidationContext context = plan.newContext(metrics);
+        documents.forEach(context::preValidate);
+        for (Document document : documents) {
+            List<ValidationError> errors = new ArrayList<>();
+            context.validate(document, errors);
+            docErrorsMap.put(document, errors);
+        }
         return docErrorsMap;
     }
 
@@ -147,73 +199,151 @@ public class RedPen {
         return documentListMap.get(document);
     }
 
-    private void runDocumentValidators(List<Document> documents, Map<Document, List<ValidationError>> docErrorsMap) {
-        for (Document document : documents) {
-            List<ValidationError> errors = new ArrayList<>();
-            validators.forEach(e -> e.validate(errors, document));
-            docErrorsMap.put(document, errors);
+    /**
+     * Validate the input documents one by one, reporting errors to the listener as soon as each document
+     * is validated. The iterator is not advanced until the errors of the previous document are reported,
+     * so the memory is bounded by the document in flight when the documents are parsed lazily.
+     * <p>
+     * Unlike {@link #validate(java.util.List)}, each document is pre-validated just before it is validated,
+     * thus validators collecting state across documents only see the documents streamed so far.
+     *
+     * @param documents input documents
+     * @param listener  listener to receive validation errors
+     */
+    public void validate(Iterator<Document> documents, ValidationErrorListener listener) {
+        validate(documents, listener, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Validate the input documents one by one until more than errorLimit errors are found.
+     * Errors found until then are reported to the listener, and the iterator is not advanced any more
+     * once the limit is exceeded.
+     *
+     * @param documents  input documents
+     * @param listener   listener to receive validation errors
+     * @param errorLimit maximum number of errors
+     * @return true when more than errorLimit errors are found
+     * @see #validate(java.util.Iterator, cc.redpen.validator.ValidationErrorListener)
+     */
+    public boolean validate(Iterator<Document> documents, ValidationErrorListener listener, int errorLimit) {
+        ValidationContext context = plan.newContext(metrics);
+        int errorCount = 0;
+        while (documents.hasNext() && errorCount <= errorLimit) {
+            errorCount += validate(context, documents.next(), listener, errorLimit - errorCount);
         }
+        return errorCount > errorLimit;
     }
 
-    private void runSectionValidators(List<Document> documents, Map<Document, List<ValidationError>> docErrorsMap) {
-        // run Section PreProcessors to documents
-        for (Document document : documents) {
-            for (Section section : document) {
-                validators.forEach(e -> e.preValidate(section));
+    /**
+     * Parse and validate the given files one by one until more than errorLimit errors are found.
+     * Files after the one exceeding the limit are neither parsed nor validated.
+     *
+     * @param parser     DocumentParser parser
+     * @param files      files to parse
+     * @param listener   listener to receive validation errors
+     * @param errorLimit maximum number of errors
+     * @return true when more than errorLimit errors are found
+     * @throws RedPenException when failed to parse a file
+     */
+    public boolean validate(DocumentParser parser, File[] files, ValidationErrorListener listener, int errorLimit)
+            throws RedPenException {
+        ValidationContext context = plan.newContext(metrics);
+        int errorCount = 0;
+        for (File file : files) {
+            Document document = parse(parser, file);
+            errorCount += validate(context, document, listener, errorLimit - errorCount);
+            if (errorCount > errorLimit) {
+                return true;
             }
         }
-        // run Section validator to documents
-        for (Document document : documents) {
-            for (Section section : document) {
-                List<ValidationError> newErrors = new ArrayList<>();
-                validators.forEach(e -> e.validate(newErrors, section));
-                List<ValidationError> validationErrors = docErrorsMap.get(document);
-                validationErrors.addAll(newErrors);
-            }
+        return false;
+    }
+
+    private int validate(ValidationContext context, Document document, ValidationErrorListener listener,
+                         int errorLimit) {
+        listener.onDocument(document);
+        context.preValidate(document);
+        List<ValidationError> errors = new ArrayList<>();
+        context.validate(document, errors, errorLimit);
+        for (ValidationError error : errors) {
+            listener.onError(document, error);
         }
+        return errors.size();
     }
 
-    private void runSentenceValidators(List<Document> documents, Map<Document, List<ValidationError>> docErrorsMap) {
-        // run Sentence PreProcessors to documents
-        for (Document document : documents) {
-            for (Section section : document) {
-                // apply Sentence PreProcessors to section
-                // apply paragraphs
-                for (Paragraph paragraph : section.getParagraphs()) {
-                    validators.forEach(e -> paragraph.getSentences().forEach(e::preValidate));
-                }
-                // apply to section header
-                validators.forEach(e -> section.getHeaderContents().forEach(e::preValidate));
-
-                // apply to lists
-                for (ListBlock listBlock : section.getListBlocks()) {
-                    for (ListElement listElement : listBlock.getListElements()) {
-                        validators.forEach(e -> listElement.getSentences().forEach(e::preValidate));
-                    }
+    /**
+     * Validate the input documents one by one, reporting errors to the listener as soon as each document
+     * is validated.
+     *
+     * @param documents input documents
+     * @param listener  listener to receive validation errors
+     * @see #validate(java.util.Iterator, cc.redpen.validator.ValidationErrorListener)
+     */
+    public void validate(Stream<Document> documents, ValidationErrorListener listener) {
+        validate(documents.iterator(), listener);
+    }
+
+    /**
+     * Validate the input document collection distributing the documents over the given executor.
+     * <p>
+     * Errors of each document are reported in the same order as {@link #validate(java.util.List)}.
+     * Pre-validation is run over all the documents before the validation starts since it collects
+     * state across documents, and validators which are order sensitive (see {@link Validator#isOrderSensitive()})
+     * are applied to the documents one after another in the given order.
+     *
+     * @param documents       input document collection generated by Parser
+     * @param executorService executor to run validation tasks (e.g. {@link java.util.concurrent.ForkJoinPool})
+     * @return list of validation errors
+     * @throws RedPenException when a validation task is interrupted or fails
+     */
+    public Map<Document, List<ValidationError>> validate(List<Document> documents, ExecutorService executorService)
+            throws RedPenException {
+        ValidationContext context = plan.newContext(metrics);
+        documents.forEach(context::preValidate);
+
+        List<List<ValidationError>[]> slots = new ArrayList<>();
+        documents.forEach(document -> slots.add(context.createSlots(document)));
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < documents.size(); i++) {
+            final int documentIndex = i;
+            futures.add(executorService.submit(() ->
+                    context.validate(documents.get(documentIndex), false, slots.get(documentIndex))));
+        }
+        if (context.hasOrderSensitiveValidators()) {
+            // order sensitive validators see the documents one after another
+            futures.add(executorService.submit(() -> {
+                for (int i = 0; i < documents.size(); i++) {
+                    context.validate(documents.get(i), true, slots.get(i));
                 }
-            }
+            }));
         }
-        // run Sentence Validators to documents
-        for (Document document : documents) {
-            for (Section section : document) {
-                List<ValidationError> newErrors = new ArrayList<>();
 
-                // apply SentenceValidations to section
-                // apply paragraphs
-                for (Paragraph paragraph : section.getParagraphs()) {
-                    validators.forEach(e -> paragraph.getSentences().forEach(sentence -> e.validate(newErrors, sentence)));
-                }
-                // apply to section header
-                validators.forEach(e -> section.getHeaderContents().forEach(sentence -> e.validate(newErrors, sentence)));
-                // apply to lists
-                for (ListBlock listBlock : section.getListBlocks()) {
-                    for (ListElement listElement : listBlock.getListElements()) {
-                        validators.forEach(e -> listElement.getSentences().forEach(sentence -> e.validate(newErrors, sentence)));
-                    }
-                }
-                docErrorsMap.get(document).addAll(newErrors);
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RedPenException("Interrupted while validating documents", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
             }
+            throw new RedPenException("Failed to validate documents", e);
         }
+
+        Map<Document, List<ValidationError>> docErrorsMap = new HashMap<>();
+        for (int i = 0; i < documents.size(); i++) {
+            List<ValidationError> errors = new ArrayList<>();
+            ValidationPlan.mergeSlots(slots.get(i), errors);
+            docErrorsMap.put(documents.get(i), errors);
+        }
+        return docErrorsMap;
     }
 
     @Override
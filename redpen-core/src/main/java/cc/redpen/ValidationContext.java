@@ -0,0 +1,108 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen;
+
+import cc.redpen.model.Document;
+import cc.redpen.validator.ValidationError;
+import cc.redpen.validator.Validator;
+
+import java.util.List;
+
+/**
+ * State of a single validation run.
+ * <p>
+ * A context holds the validators returned by {@link cc.redpen.validator.Validator#forRun()}, so that state collected
+ * from the documents of a run is isolated from other runs while the {@link ValidationPlan}, validator configurations
+ * and dictionaries are shared.
+ */
+final class ValidationContext {
+    private final ValidationPlan plan;
+    private final Validator[] validators;
+
+    /**
+     * Constructor.
+     *
+     * @param plan       validation plan
+     * @param validators validators for this run in the order of the plan
+     */
+    ValidationContext(ValidationPlan plan, Validator[] validators) {
+        this.plan = plan;
+        this.validators = validators;
+    }
+
+    /**
+     * Run pre-validation of sections and sentences in the given document.
+     *
+     * @param document input document
+     */
+    void preValidate(Document document) {
+        plan.preValidate(validators, document);
+    }
+
+    /**
+     * Validate the given document with all the validators.
+     *
+     * @param document input document
+     * @param errors   list to add validation errors
+     */
+    void validate(Document document, List<ValidationError> errors) {
+        plan.validate(validators, document, errors);
+    }
+
+    /**
+     * Validate the given document with all the validators, stopping after the section
+     * in which more than errorLimit errors are found.
+     *
+     * @param document   input document
+     * @param errors     list to add validation errors
+     * @param errorLimit maximum number of errors to find in the document
+     */
+    void validate(Document document, List<ValidationError> errors, int errorLimit) {
+        plan.validate(validators, document, errors, errorLimit);
+    }
+
+    /**
+     * Validate the given document with either order sensitive or order insensitive validators.
+     *
+     * @param document       input document
+     * @param orderSensitive true to run only order sensitive validators, false to run the others
+     * @param slots          slots of validation errors created by {@link #createSlots(cc.redpen.model.Document)}
+     */
+    void validate(Document document, boolean orderSensitive, List<ValidationError>[] slots) {
+        plan.validate(validators, document, orderSensitive, slots);
+    }
+
+    /**
+     * Create slots to store validation errors of a document for each validation unit and validator.
+     *
+     * @param document input document
+     * @return empty slots
+     */
+    List<ValidationError>[] createSlots(Document document) {
+        return plan.createSlots(document);
+    }
+
+    /**
+     * Returns whether the run contains order sensitive validators.
+     *
+     * @return true when some validator is order sensitive
+     */
+    boolean hasOrderSensitiveValidators() {
+        return plan.hasOrderSensitiveValidators();
+    }
+}
@@ -0,0 +1,402 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen;
+
+import cc.redpen.metrics.RedPenMetrics;
+import cc.redpen.model.Document;
+import cc.redpen.model.ListBlock;
+import cc.redpen.model.ListElement;
+import cc.redpen.model.Paragraph;
+import cc.redpen.model.Section;
+import cc.redpen.model.Sentence;
+import cc.redpen.validator.ValidationError;
+import cc.redpen.validator.Validator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Validation plan compiled from a list of validators.
+ * <p>
+ * The plan knows which validators override each hook of {@link cc.redpen.validator.Validator}
+ * and walks a document once for pre-validation and once for validation, calling only those validators.
+ * The plan itself is immutable; validators holding state of a run are taken from a {@link ValidationContext}.
+ */
+final class ValidationPlan {
+    private final Validator[] validators;
+    private final int[] maxErrors;
+    private final boolean capped;
+    private final Dispatch all;
+    private final Dispatch orderSensitive;
+    private final Dispatch orderInsensitive;
+
+    /**
+     * Constructor.
+     *
+     * @param validators validators in the configured order
+     */
+    ValidationPlan(List<Validator> validators) {
+        this.validators = validators.toArray(new Validator[validators.size()]);
+        this.maxErrors = validators.stream().mapToInt(Validator::getMaxErrors).toArray();
+        this.capped = Arrays.stream(maxErrors).anyMatch(max -> max < Integer.MAX_VALUE);
+        this.all = new Dispatch(this.validators, null);
+        this.orderSensitive = new Dispatch(this.validators, true);
+        this.orderInsensitive = new Dispatch(this.validators, false);
+    }
+
+    /**
+     * Create a context for a new validation run.
+     *
+     * @return validation context
+     */
+    ValidationContext newContext() {
+        Validator[] runValidators = new Validator[validators.length];
+        for (int i = 0; i < validators.length; i++) {
+            runValidators[i] = validators[i].forRun();
+        }
+        return new ValidationContext(this, runValidators);
+    }
+
+    /**
+     * Create a context for a new validation run, which records the calls of validators
+     * when the given metrics are enabled.
+     *
+     * @param metrics metrics of the run
+     * @return validation context
+     */
+    ValidationContext newContext(RedPenMetrics metrics) {
+        if (!metrics.isEnabled()) {
+            return newContext();
+        }
+        Validator[] runValidators = new Validator[validators.length];
+        for (int i = 0; i < validators.length; i++) {
+            runValidators[i] = metrics.instrument(validators[i].forRun());
+        }
+        return new ValidationContext(this, runValidators);
+    }
+
+    /**
+     * Get the number of validators in the plan.
+     *
+     * @return the number of validators
+     */
+    int size() {
+        return validators.length;
+    }
+
+    /**
+     * Returns whether the plan contains order sensitive validators.
+     *
+     * @return true when some validator is order sensitive
+     */
+    boolean hasOrderSensitiveValidators() {
+        return !orderSensitive.isEmpty();
+    }
+
+    /**
+     * Run pre-validation of sections and sentences in the given document.
+     *
+     * @param validators validators of the run
+     * @param document   input document
+     */
+    void preValidate(Validator[] validators, Document document) {
+        if (all.sectionPreValidators.length == 0 && all.sentencePreValidators.length == 0) {
+            return;
+        }
+        for (Section section : document) {
+            for (int i : all.sectionPreValidators) {
+                validators[i].preValidate(section);
+            }
+            if (all.sentencePreValidators.length == 0) {
+                continue;
+            }
+            for (Paragraph paragraph : section.getParagraphs()) {
+                preValidate(validators, paragraph.getSentences());
+            }
+            preValidate(validators, section.getHeaderContents());
+            for (ListBlock listBlock : section.getListBlocks()) {
+                for (ListElement listElement : listBlock.getListElements()) {
+                    preValidate(validators, listElement.getSentences());
+                }
+            }
+        }
+    }
+
+    private void preValidate(Validator[] validators, List<Sentence> sentences) {
+        for (int i : all.sentencePreValidators) {
+            Validator validator = validators[i];
+            for (Sentence sentence : sentences) {
+                validator.preValidate(sentence);
+            }
+        }
+    }
+
+    /**
+     * Validate the given document with all the validators.
+     * Errors are reported in the order of document, section and sentence validators.
+     *
+     * @param validators validators of the run
+     * @param document   input document
+     * @param errors     list to add validation errors
+     */
+    void validate(Validator[] validators, Document document, List<ValidationError> errors) {
+        validate(validators, document, errors, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Validate the given document with all the validators, stopping after the section
+     * in which more than errorLimit errors are found.
+     *
+     * @param validators validators of the run
+     * @param document   input document
+     * @param errors     list to add validation errors
+     * @param errorLimit maximum number of errors to find in the document
+     */
+    void validate(Validator[] validators, Document document, List<ValidationError> errors, int errorLimit) {
+        int sectionSize = document.size();
+        int initialSize = errors.size();
+        List<ValidationError> sentenceErrors = new ArrayList<>();
+        validate(validators, document, all, (unit, validator) -> unit <= sectionSize ? errors : sentenceErrors,
+                () -> errors.size() - initialSize + sentenceErrors.size() > errorLimit);
+        errors.addAll(sentenceErrors);
+    }
+
+    /**
+     * Validate the given document with either order sensitive or order insensitive validators.
+     * The errors are stored to the slots returned by {@link #createSlots(cc.redpen.model.Document)};
+     * results of both lanes are merged by {@link #mergeSlots(java.util.List[], java.util.List)}.
+     *
+     * @param validators     validators of the run
+     * @param document       input document
+     * @param orderSensitive true to run only order sensitive validators, false to run the others
+     * @param slots          slots of validation errors
+     */
+    void validate(Validator[] validators, Document document, boolean orderSensitive,
+                  List<ValidationError>[] slots) {
+        validate(validators, document, orderSensitive ? this.orderSensitive : this.orderInsensitive, (unit, validator) -> {
+            int index = unit * validators.length + validator;
+            if (slots[index] == null) {
+                slots[index] = new ArrayList<>();
+            }
+            return slots[index];
+        }, () -> false);
+    }
+
+    /**
+     * Create slots to store validation errors of a document for each validation unit and validator.
+     *
+     * @param document input document
+     * @return empty slots
+     */
+    @SuppressWarnings("unchecked")
+    List<ValidationError>[] createSlots(Document document) {
+        int units = 1 + document.size();
+        for (Section section : document) {
+            units += section.getParagraphs().size() + 1;
+            for (ListBlock listBlock : section.getListBlocks()) {
+                units += listBlock.getNumberOfListElements();
+            }
+        }
+        return new List[units * validators.length];
+    }
+
+    /**
+     * Add the errors stored in the slots to the list in the order of sequential validation.
+     *
+     * @param slots  slots of validation errors
+     * @param errors list to add validation errors
+     */
+    static void mergeSlots(List<ValidationError>[] slots, List<ValidationError> errors) {
+        for (List<ValidationError> slot : slots) {
+            if (slot != null) {
+                errors.addAll(slot);
+            }
+        }
+    }
+
+    /**
+     * Walk the document calling the validators in the dispatch tables. Units are numbered as the document,
+     * its sections and then blocks of sentences so that the numbers follow the order of the reported errors.
+     * The walk ends after a section when the limit tells that enough errors are found.
+     */
+    private void validate(Validator[] validators, Document document, Dispatch dispatch, ErrorCollector collector,
+                          BooleanSupplier limitExceeded) {
+        int[] errorCounts = capped ? new int[validators.length] : null;
+        for (int i : dispatch.documentValidators) {
+            if (isSaturated(i, errorCounts)) {
+                continue;
+            }
+            List<ValidationError> errors = collector.get(0, i);
+            int size = errors.size();
+            validators[i].validate(errors, document);
+            countErrors(i, errors, size, errorCounts);
+        }
+        int sectionUnit = 1;
+        int sentenceUnit = 1 + document.size();
+        for (Section section : document) {
+            if (limitExceeded.getAsBoolean()) {
+                return;
+            }
+            for (int i : dispatch.sectionValidators) {
+                if (isSaturated(i, errorCounts)) {
+                    continue;
+                }
+                List<ValidationError> errors = collector.get(sectionUnit, i);
+                int size = errors.size();
+                validators[i].validate(errors, section);
+                countErrors(i, errors, size, errorCounts);
+            }
+            sectionUnit++;
+            if (dispatch.sentenceValidators.length == 0) {
+                continue;
+            }
+            for (Paragraph paragraph : section.getParagraphs()) {
+                validate(validators, paragraph.getSentences(), dispatch, collector, sentenceUnit++, errorCounts);
+            }
+            validate(validators, section.getHeaderContents(), dispatch, collector, sentenceUnit++, errorCounts);
+            for (ListBlock listBlock : section.getListBlocks()) {
+                for (ListElement listElement : listBlock.getListElements()) {
+                    validate(validators, listElement.getSentences(), dispatch, collector, sentenceUnit++,
+                            errorCounts);
+                }
+            }
+        }
+    }
+
+    private void validate(Validator[] validators, List<Sentence> sentences, Dispatch dispatch,
+                          ErrorCollector collector, int unit, int[] errorCounts) {
+        if (sentences.isEmpty()) {
+            return;
+        }
+        for (int i : dispatch.sentenceValidators) {
+            if (isSaturated(i, errorCounts)) {
+                continue;
+            }
+            Validator validator = validators[i];
+            List<ValidationError> errors = collector.get(unit, i);
+            for (Sentence sentence : sentences) {
+                int size = errors.size();
+                validator.validate(errors, sentence);
+                if (countErrors(i, errors, size, errorCounts)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private boolean isSaturated(int validator, int[] errorCounts) {
+        return errorCounts != null && errorCounts[validator] >= maxErrors[validator];
+    }
+
+    /**
+     * Count the errors added by a validator in the document, dropping the errors beyond its cap.
+     *
+     * @return true when the validator reached its cap
+     */
+    private boolean countErrors(int validator, List<ValidationError> errors, int sizeBefore, int[] errorCounts) {
+        if (errorCounts == null) {
+            return false;
+        }
+        int added = errors.size() - sizeBefore;
+        errorCounts[validator] += added;
+        int excess = errorCounts[validator] - maxErrors[validator];
+        if (excess < 0) {
+            return false;
+        }
+        // only the errors added by this validator are dropped
+        errors.subList(errors.size() - Math.min(excess, added), errors.size()).clear();
+        errorCounts[validator] = maxErrors[validator];
+        return true;
+    }
+
+    @FunctionalInterface
+    private interface ErrorCollector {
+        List<ValidationError> get(int unit, int validator);
+    }
+
+    /**
+     * Indices of the validators overriding each hook.
+     */
+    private static final class Dispatch {
+        final int[] sectionPreValidators;
+        final int[] sentencePreValidators;
+        final int[] documentValidators;
+        final int[] sectionValidators;
+        final int[] sentenceValidators;
+
+        /**
+         * Constructor.
+         *
+         * @param validators     validators
+         * @param orderSensitive select validators by {@link Validator#isOrderSensitive()}, or null to select all
+         */
+        Dispatch(Validator[] validators, Boolean orderSensitive) {
+            List<Integer> sectionPre = new ArrayList<>();
+            List<Integer> sentencePre = new ArrayList<>();
+            List<Integer> document = new ArrayList<>();
+            List<Integer> section = new ArrayList<>();
+            List<Integer> sentence = new ArrayList<>();
+            for (int i = 0; i < validators.length; i++) {
+                Validator validator = validators[i];
+                if (orderSensitive != null && validator.isOrderSensitive() != orderSensitive) {
+                    continue;
+                }
+                if (overrides(validator, "preValidate", Section.class)) {
+                    sectionPre.add(i);
+                }
+                if (overrides(validator, "preValidate", Sentence.class)) {
+                    sentencePre.add(i);
+                }
+                if (overrides(validator, "validate", List.class, Document.class)) {
+                    document.add(i);
+                }
+                if (overrides(validator, "validate", List.class, Section.class)) {
+                    section.add(i);
+                }
+                if (overrides(validator, "validate", List.class, Sentence.class)) {
+                    sentence.add(i);
+                }
+            }
+            this.sectionPreValidators = toArray(sectionPre);
+            this.sentencePreValidators = toArray(sentencePre);
+            this.documentValidators = toArray(document);
+            this.sectionValidators = toArray(section);
+            this.sentenceValidators = toArray(sentence);
+        }
+
+        boolean isEmpty() {
+            return sectionPreValidators.length == 0 && sentencePreValidators.length == 0
+                    && documentValidators.length == 0 && sectionValidators.length == 0
+                    && sentenceValidators.length == 0;
+        }
+
+        private static boolean overrides(Validator validator, String name, Class<?>... parameterTypes) {
+            try {
+                return validator.getClass().getMethod(name, parameterTypes).getDeclaringClass() != Validator.class;
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("Validator does not have method " + name, e);
+            }
+        }
+
+        private static int[] toArray(List<Integer> indices) {
+            return indices.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
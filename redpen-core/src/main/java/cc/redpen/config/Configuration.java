@@ -22,6 +22,8 @@ import cc.redpen.tokenizer.RedPenTokenizer;
 import cc.redpen.tokenizer.WhiteSpaceTokenizer;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -30,20 +32,23 @@ import java.util.List;
 public final class Configuration {
     private final SymbolTable symbolTable;
     private final List<ValidatorConfiguration> validatorConfigs = new ArrayList<>();
+    private final List<String> abbreviations = new ArrayList<>();
     private String lang;
     private RedPenTokenizer tokenizer;
 
     /**
      * Constructor.
      */
-    Configuration(SymbolTable symbolTable, List<ValidatorConfiguration> validatorConfigs, String lang) {
+    Configuration(SymbolTable symbolTable, List<ValidatorConfiguration> validatorConfigs,
+                  List<String> abbreviations, String lang, boolean paragraphTokenization) {
         this.symbolTable = symbolTable;
 
         this.validatorConfigs.addAll(validatorConfigs);
+        this.abbreviations.addAll(abbreviations);
         this.lang = lang;
         switch (lang) {
             case "ja":
-                this.tokenizer = new JapaneseTokenizer();
+                this.tokenizer = new JapaneseTokenizer(paragraphTokenization);
                 break;
             default:
                 this.tokenizer = new WhiteSpaceTokenizer();
@@ -68,6 +73,15 @@ public final class Configuration {
         return validatorConfigs;
     }
 
+    /**
+     * Get abbreviations containing periods which do not end sentences, in addition to the default ones.
+     *
+     * @return list of abbreviations
+     */
+    public List<String> getAbbreviations() {
+        return Collections.unmodifiableList(abbreviations);
+    }
+
     /**
      * returns language targeted by this configuration
      *
@@ -92,14 +106,27 @@ public final class Configuration {
     public static class ConfigurationBuilder {
         private final List<ValidatorConfiguration> validatorConfigs = new ArrayList<>();
         private final List<Symbol> customSymbols = new ArrayList<>();
+        private final List<String> abbreviations = new ArrayList<>();
 
         private String lang = "en";
+        private boolean paragraphTokenization = false;
 
         public ConfigurationBuilder setLanguage(String lang) {
             this.lang = lang;
             return this;
         }
 
+        /**
+         * Set whether the sentences in a paragraph are tokenized together, which the Japanese tokenizer supports.
+         *
+         * @param paragraphTokenization true to tokenize sentences by paragraphs
+         * @return builder
+         */
+        public ConfigurationBuilder setParagraphTokenization(boolean paragraphTokenization) {
+            this.paragraphTokenization = paragraphTokenization;
+            return this;
+        }
+
         public ConfigurationBuilder setSymbol(Symbol symbol) {
             customSymbols.add(symbol);
             return this;
@@ -110,8 +137,19 @@ public final class Configuration {
             return this;
         }
 
+        public ConfigurationBuilder addAbbreviation(String abbreviation) {
+            abbreviations.add(abbreviation);
+            return this;
+        }
+
+        public ConfigurationBuilder addAbbreviations(Collection<String> abbreviations) {
+            this.abbreviations.addAll(abbreviations);
+            return this;
+        }
+
         public Configuration build() {
-            return new Configuration(new SymbolTable(lang, customSymbols), this.validatorConfigs, this.lang);
+            return new Configuration(new SymbolTable(lang, customSymbols), this.validatorConfigs,
+                    this.abbreviations, this.lang, this.paragraphTokenization);
         }
     }
 }
@@ -0,0 +1,63 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.metrics;
+
+import cc.redpen.tokenizer.RedPenTokenizer;
+import cc.redpen.tokenizer.TokenElement;
+
+import java.util.List;
+
+/**
+ * Tokenizer delegating to another tokenizer and recording the time spent in tokenization.
+ */
+final class InstrumentedTokenizer implements RedPenTokenizer {
+    private final RedPenTokenizer tokenizer;
+    private final RedPenMetrics metrics;
+
+    /**
+     * Constructor.
+     *
+     * @param tokenizer tokenizer to measure
+     * @param metrics   metrics to record the calls
+     */
+    InstrumentedTokenizer(RedPenTokenizer tokenizer, RedPenMetrics metrics) {
+        this.tokenizer = tokenizer;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public List<TokenElement> tokenize(String sentence) {
+        long start = System.nanoTime();
+        List<TokenElement> tokens = tokenizer.tokenize(sentence);
+        metrics.recordTokenize(System.nanoTime() - start);
+        return tokens;
+    }
+
+    @Override
+    public List<List<TokenElement>> tokenize(List<String> sentences) {
+        long start = System.nanoTime();
+        List<List<TokenElement>> tokens = tokenizer.tokenize(sentences);
+        metrics.recordTokenize(System.nanoTime() - start);
+        return tokens;
+    }
+
+    @Override
+    public boolean isParagraphTokenization() {
+        return tokenizer.isParagraphTokenization();
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.metrics;
+
+import cc.redpen.model.Document;
+import cc.redpen.model.Section;
+import cc.redpen.model.Sentence;
+import cc.redpen.validator.ValidationError;
+import cc.redpen.validator.Validator;
+
+import java.util.List;
+
+/**
+ * Validator delegating each hook to another validator and recording the calls to {@link ValidatorMetrics}.
+ */
+final class InstrumentedValidator extends Validator {
+    private final Validator validator;
+    private final ValidatorMetrics metrics;
+
+    /**
+     * Constructor.
+     *
+     * @param validator validator to measure
+     * @param metrics   metrics to record the calls
+     */
+    InstrumentedValidator(Validator validator, ValidatorMetrics metrics) {
+        this.validator = validator;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void preValidate(Sentence sentence) {
+        long start = System.nanoTime();
+        validator.preValidate(sentence);
+        metrics.record(ValidatorMetrics.Hook.PRE_VALIDATE, System.nanoTime() - start, 0);
+    }
+
+    @Override
+    public void preValidate(Section section) {
+        long start = System.nanoTime();
+        validator.preValidate(section);
+        metrics.record(ValidatorMetrics.Hook.PRE_VALIDATE, System.nanoTime() - start, 0);
+    }
+
+    @Override
+    public void validate(List<ValidationError> errorList, Document document) {
+        int size = errorList.size();
+        long start = System.nanoTime();
+        validator.validate(errorList, document);
+        metrics.record(ValidatorMetrics.Hook.DOCUMENT, System.nanoTime() - start, errorList.size() - size);
+    }
+
+    @Override
+    public void validate(List<ValidationError> errors, Section section) {
+        int size = errors.size();
+        long start = System.nanoTime();
+        validator.validate(errors, section);
+        metrics.record(ValidatorMetrics.Hook.SECTION, System.nanoTime() - start, errors.size() - size);
+    }
+
+    @Override
+    public void validate(List<ValidationError> errors, Sentence sentence) {
+        int size = errors.size();
+        long start = System.nanoTime();
+        validator.validate(errors, sentence);
+        metrics.record(ValidatorMetrics.Hook.SENTENCE, System.nanoTime() - start, errors.size() - size);
+    }
+
+    @Override
+    public int getMaxErrors() {
+        return validator.getMaxErrors();
+    }
+
+    @Override
+    public boolean isOrderSensitive() {
+        return validator.isOrderSensitive();
+    }
+
+    @Override
+    public Validator forRun() {
+        return new InstrumentedValidator(validator.forRun(), metrics);
+    }
+
+    @Override
+    public String toString() {
+        return "InstrumentedValidator{" +
+                "validator=" + validator +
+                '}';
+    }
+}
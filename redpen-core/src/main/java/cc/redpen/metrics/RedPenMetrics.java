@@ -0,0 +1,221 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.metrics;
+
+import cc.redpen.RedPenException;
+import cc.redpen.tokenizer.RedPenTokenizer;
+import cc.redpen.validator.Validator;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of the validation runs of a {@link cc.redpen.RedPen}: wall time and call counts of each validator
+ * split by hook, errors of each validator, and time spent in parsing and tokenization.
+ * <p>
+ * Metrics are not collected until enabled, since measuring each validator call adds overhead to the validation.
+ * Runs started after metrics are enabled use instrumented validators and tokenizers
+ * (see {@link #instrument(cc.redpen.validator.Validator)} and
+ * {@link #instrument(cc.redpen.tokenizer.RedPenTokenizer)}).
+ * Validators of the same class share their metrics.
+ */
+public final class RedPenMetrics implements RedPenMetricsMXBean {
+    private static final String DOMAIN = "cc.redpen";
+
+    private volatile boolean enabled = false;
+    private final Map<String, ValidatorMetrics> validatorMetrics;
+    private final LongAdder parseCalls = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+    private final LongAdder tokenizeCalls = new LongAdder();
+    private final LongAdder tokenizeNanos = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param validators validators to measure
+     */
+    public RedPenMetrics(List<Validator> validators) {
+        Map<String, ValidatorMetrics> metrics = new LinkedHashMap<>();
+        for (Validator validator : validators) {
+            String name = nameOf(validator);
+            metrics.putIfAbsent(name, new ValidatorMetrics(name));
+        }
+        this.validatorMetrics = Collections.unmodifiableMap(metrics);
+    }
+
+    private static String nameOf(Validator validator) {
+        return validator.getClass().getSimpleName();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the validator measuring the calls of the given validator.
+     *
+     * @param validator validator to measure
+     * @return instrumented validator, or the given validator when it is not known to these metrics
+     */
+    public Validator instrument(Validator validator) {
+        ValidatorMetrics metrics = validatorMetrics.get(nameOf(validator));
+        return metrics != null ? new InstrumentedValidator(validator, metrics) : validator;
+    }
+
+    /**
+     * Returns the tokenizer measuring the calls of the given tokenizer.
+     *
+     * @param tokenizer tokenizer to measure
+     * @return instrumented tokenizer
+     */
+    public RedPenTokenizer instrument(RedPenTokenizer tokenizer) {
+        return new InstrumentedTokenizer(tokenizer, this);
+    }
+
+    /**
+     * Record parsing of a document.
+     *
+     * @param elapsed wall time in nanoseconds, including tokenization
+     */
+    public void recordParse(long elapsed) {
+        parseCalls.increment();
+        parseNanos.add(elapsed);
+    }
+
+    void recordTokenize(long elapsed) {
+        tokenizeCalls.increment();
+        tokenizeNanos.add(elapsed);
+    }
+
+    /**
+     * Get the metrics of a validator.
+     *
+     * @param validatorName simple class name of the validator
+     * @return metrics of the validator, null when the validator is not configured
+     */
+    public ValidatorMetrics getValidatorMetrics(String validatorName) {
+        return validatorMetrics.get(validatorName);
+    }
+
+    /**
+     * Get the metrics of all the validators in the configured order.
+     *
+     * @return metrics of validators
+     */
+    public Collection<ValidatorMetrics> getValidatorMetrics() {
+        return validatorMetrics.values();
+    }
+
+    @Override
+    public long getParseCalls() {
+        return parseCalls.sum();
+    }
+
+    @Override
+    public long getParseTimeNanos() {
+        return parseNanos.sum();
+    }
+
+    @Override
+    public long getTokenizeCalls() {
+        return tokenizeCalls.sum();
+    }
+
+    @Override
+    public long getTokenizeTimeNanos() {
+        return tokenizeNanos.sum();
+    }
+
+    @Override
+    public void reset() {
+        parseCalls.reset();
+        parseNanos.reset();
+        tokenizeCalls.reset();
+        tokenizeNanos.reset();
+        validatorMetrics.values().forEach(ValidatorMetrics::reset);
+    }
+
+    /**
+     * Register these metrics and the metrics of each validator to the platform MBean server,
+     * as "cc.redpen:type=RedPenMetrics,name=<i>name</i>" and
+     * "cc.redpen:type=ValidatorMetrics,name=<i>name</i>,validator=<i>validator</i>".
+     *
+     * @param name name to distinguish RedPen instances
+     * @return names of the registered MBeans
+     * @throws RedPenException when failed to register MBeans
+     */
+    public List<ObjectName> registerMBeans(String name) throws RedPenException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        List<ObjectName> names = new ArrayList<>();
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=RedPenMetrics,name=" + ObjectName.quote(name));
+            server.registerMBean(this, objectName);
+            names.add(objectName);
+            for (ValidatorMetrics metrics : validatorMetrics.values()) {
+                objectName = new ObjectName(DOMAIN + ":type=ValidatorMetrics,name=" + ObjectName.quote(name)
+                        + ",validator=" + ObjectName.quote(metrics.getValidatorName()));
+                server.registerMBean(metrics, objectName);
+                names.add(objectName);
+            }
+        } catch (JMException e) {
+            unregisterMBeans(names);
+            throw new RedPenException(e);
+        }
+        return names;
+    }
+
+    /**
+     * Unregister MBeans registered by {@link #registerMBeans(String)}.
+     *
+     * @param names names of the registered MBeans
+     */
+    public static void unregisterMBeans(List<ObjectName> names) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName objectName : names) {
+            try {
+                server.unregisterMBean(objectName);
+            } catch (JMException ignore) {
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RedPenMetrics{" +
+                "enabled=" + enabled +
+                ", parseTimeNanos=" + getParseTimeNanos() +
+                ", tokenizeTimeNanos=" + getTokenizeTimeNanos() +
+                ", validatorMetrics=" + validatorMetrics.values() +
+                '}';
+    }
+}
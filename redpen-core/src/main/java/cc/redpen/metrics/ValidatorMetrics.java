@@ -0,0 +1,205 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call counts, wall time and errors of a validator, accumulated over validation runs.
+ * <p>
+ * Latencies of sentence validation are also recorded in a histogram of power of two buckets:
+ * the bucket i counts the calls which took at least 2^(i-1) and less than 2^i nanoseconds.
+ */
+public final class ValidatorMetrics implements ValidatorMetricsMXBean {
+    /**
+     * Hooks of {@link cc.redpen.validator.Validator}.
+     */
+    public enum Hook {
+        PRE_VALIDATE, DOCUMENT, SECTION, SENTENCE
+    }
+
+    private static final int HISTOGRAM_SIZE = 64;
+
+    private final String validatorName;
+    private final LongAdder[] calls = new LongAdder[Hook.values().length];
+    private final LongAdder[] nanos = new LongAdder[Hook.values().length];
+    private final LongAdder errors = new LongAdder();
+    private final AtomicLongArray sentenceLatencies = new AtomicLongArray(HISTOGRAM_SIZE);
+
+    /**
+     * Constructor.
+     *
+     * @param validatorName name of the validator
+     */
+    ValidatorMetrics(String validatorName) {
+        this.validatorName = validatorName;
+        for (int i = 0; i < calls.length; i++) {
+            calls[i] = new LongAdder();
+            nanos[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record a call of a hook.
+     *
+     * @param hook        called hook
+     * @param elapsed     wall time of the call in nanoseconds
+     * @param errorsAdded number of errors reported in the call
+     */
+    void record(Hook hook, long elapsed, int errorsAdded) {
+        calls[hook.ordinal()].increment();
+        nanos[hook.ordinal()].add(elapsed);
+        if (errorsAdded > 0) {
+            errors.add(errorsAdded);
+        }
+        if (hook == Hook.SENTENCE) {
+            sentenceLatencies.incrementAndGet(bucketOf(elapsed));
+        }
+    }
+
+    static int bucketOf(long elapsed) {
+        return elapsed <= 0 ? 0 : Math.min(HISTOGRAM_SIZE - 1, 64 - Long.numberOfLeadingZeros(elapsed));
+    }
+
+    /**
+     * Get the number of calls of a hook.
+     *
+     * @param hook validator hook
+     * @return the number of calls
+     */
+    public long getCalls(Hook hook) {
+        return calls[hook.ordinal()].sum();
+    }
+
+    /**
+     * Get the wall time spent in a hook.
+     *
+     * @param hook validator hook
+     * @return wall time in nanoseconds
+     */
+    public long getTimeNanos(Hook hook) {
+        return nanos[hook.ordinal()].sum();
+    }
+
+    /**
+     * Get an upper bound of the given percentile of sentence validation latencies.
+     *
+     * @param percentile percentile between 0 and 100
+     * @return latency in nanoseconds, 0 when no sentence is validated
+     */
+    public long getSentenceLatencyPercentile(double percentile) {
+        long[] histogram = getSentenceLatencyHistogram();
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= threshold && seen > 0) {
+                return i == 0 ? 0 : (1L << i) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public String getValidatorName() {
+        return validatorName;
+    }
+
+    @Override
+    public long getPreValidateCalls() {
+        return getCalls(Hook.PRE_VALIDATE);
+    }
+
+    @Override
+    public long getPreValidateTimeNanos() {
+        return getTimeNanos(Hook.PRE_VALIDATE);
+    }
+
+    @Override
+    public long getDocumentCalls() {
+        return getCalls(Hook.DOCUMENT);
+    }
+
+    @Override
+    public long getDocumentTimeNanos() {
+        return getTimeNanos(Hook.DOCUMENT);
+    }
+
+    @Override
+    public long getSectionCalls() {
+        return getCalls(Hook.SECTION);
+    }
+
+    @Override
+    public long getSectionTimeNanos() {
+        return getTimeNanos(Hook.SECTION);
+    }
+
+    @Override
+    public long getSentenceCalls() {
+        return getCalls(Hook.SENTENCE);
+    }
+
+    @Override
+    public long getSentenceTimeNanos() {
+        return getTimeNanos(Hook.SENTENCE);
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    @Override
+    public long[] getSentenceLatencyHistogram() {
+        long[] histogram = new long[HISTOGRAM_SIZE];
+        for (int i = 0; i < HISTOGRAM_SIZE; i++) {
+            histogram[i] = sentenceLatencies.get(i);
+        }
+        return histogram;
+    }
+
+    void reset() {
+        for (int i = 0; i < calls.length; i++) {
+            calls[i].reset();
+            nanos[i].reset();
+        }
+        errors.reset();
+        for (int i = 0; i < HISTOGRAM_SIZE; i++) {
+            sentenceLatencies.set(i, 0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ValidatorMetrics{" +
+                "validatorName='" + validatorName + '\'' +
+                ", sentenceCalls=" + getSentenceCalls() +
+                ", sentenceTimeNanos=" + getSentenceTimeNanos() +
+                ", errorCount=" + getErrorCount() +
+                '}';
+    }
+}
@@ -120,6 +120,8 @@ public class Document implements Iterable<Section>, Serializable {
 
     public static class DocumentBuilder {
         private final RedPenTokenizer tokenizer;
+        private TokenBatch tokenBatch;
+        private Paragraph tokenBatchParagraph;
         boolean built = false;
         private final List<Section> sections;
         Optional<String> fileName;
@@ -161,7 +163,16 @@ public class Document implements Iterable<Section>, Serializable {
             if (lastParagraph.getNumberOfSentences() == 1) {
                 sentence.setIsFirstSentence(true);
             }
-            sentence.setTokens(tokenizer.tokenize(sentence.getContent()));
+            if (tokenizer.isParagraphTokenization()) {
+                if (tokenBatchParagraph != lastParagraph) {
+                    tokenBatch = new TokenBatch(tokenizer);
+                    tokenBatchParagraph = lastParagraph;
+                }
+                tokenBatch.add(sentence);
+                sentence.setTokenBatch(tokenBatch);
+            } else {
+                sentence.setTokenizer(tokenizer);
+            }
             return this;
         }
 
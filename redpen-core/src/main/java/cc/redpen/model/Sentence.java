@@ -18,8 +18,11 @@
 package cc.redpen.model;
 
 import cc.redpen.parser.LineOffset;
+import cc.redpen.tokenizer.RedPenTokenizer;
 import cc.redpen.tokenizer.TokenElement;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -56,6 +59,14 @@ public final class Sentence implements Serializable {
      * Note: the contents of the tokens are added in DocumentCollectionBuilder
      */
     private List<TokenElement> tokens;
+    /**
+     * Tokenizer to make the tokens when they are requested first, null when the tokens are made.
+     */
+    private transient volatile RedPenTokenizer tokenizer;
+    /**
+     * Sentences tokenized together with this sentence, null when the tokens are made.
+     */
+    private transient volatile TokenBatch tokenBatch;
     /**
      * Combinations of line Number and the position offset
      */
@@ -177,18 +188,62 @@ public final class Sentence implements Serializable {
 
     /**
      * Get a set of tokenized words in the sentence.
+     * When a tokenizer is set, the content is tokenized on the first call.
      * @return
      */
     public List<TokenElement> getTokens() {
+        TokenBatch tokenBatch = this.tokenBatch;
+        if (tokenBatch != null) {
+            tokenBatch.tokenize(); // not holding the lock of this sentence, which the batch acquires
+        }
+        if (tokenizer != null) {
+            tokenize();
+        }
         return tokens;
     }
 
+    private synchronized void tokenize() {
+        RedPenTokenizer tokenizer = this.tokenizer;
+        if (tokenizer != null) {
+            this.tokens = tokenizer.tokenize(content);
+            this.tokenizer = null;
+        }
+    }
+
     /**
      * Set a set of tokenized words.
      * @param tokens tokenized words
      */
-    public void setTokens(List<TokenElement> tokens) {
+    public synchronized void setTokens(List<TokenElement> tokens) {
         this.tokens = tokens;
+        this.tokenizer = null;
+        this.tokenBatch = null;
+    }
+
+    /**
+     * Set a tokenizer to tokenize the content when the tokens are requested first,
+     * so that sentences are not tokenized unless some validator uses the tokens.
+     * The content should not be changed after setting the tokenizer.
+     * @param tokenizer tokenizer
+     */
+    public synchronized void setTokenizer(RedPenTokenizer tokenizer) {
+        this.tokenizer = tokenizer;
+    }
+
+    /**
+     * Set sentences to tokenize together with this sentence when the tokens of any of them are requested first.
+     * @param tokenBatch sentences including this sentence
+     */
+    synchronized void setTokenBatch(TokenBatch tokenBatch) {
+        this.tokenBatch = tokenBatch;
+    }
+
+    /**
+     * Returns whether the content is already tokenized, or whether no tokenizer is set.
+     * @return false when the content will be tokenized on the first call of {@link #getTokens()}
+     */
+    public boolean isTokenized() {
+        return tokenizer == null && tokenBatch == null;
     }
 
     /**
@@ -217,7 +272,7 @@ public final class Sentence implements Serializable {
                 ", content='" + content + '\'' +
                 ", startPositionOffset=" + startPositionOffset +
                 ", isFirstSentence=" + isFirstSentence +
-                ", tokens=" + tokens +
+                ", tokens=" + getTokens() +
                 ", offsetMap=" + offsetMap +
                 '}';
     }
@@ -234,7 +289,9 @@ public final class Sentence implements Serializable {
         if (startPositionOffset != sentence.startPositionOffset) return false;
         if (content != null ? !content.equals(sentence.content) : sentence.content != null) return false;
         if (links != null ? !links.equals(sentence.links) : sentence.links != null) return false;
-        if (tokens != null ? !tokens.equals(sentence.tokens) : sentence.tokens != null) return false;
+        List<TokenElement> tokens = getTokens();
+        List<TokenElement> otherTokens = sentence.getTokens();
+        if (tokens != null ? !tokens.equals(otherTokens) : otherTokens != null) return false;
 
         return true;
     }
@@ -246,7 +303,13 @@ public final class Sentence implements Serializable {
         result = 31 * result + (content != null ? content.hashCode() : 0);
         result = 31 * result + startPositionOffset;
         result = 31 * result + (isFirstSentence ? 1 : 0);
+        List<TokenElement> tokens = getTokens();
         result = 31 * result + (tokens != null ? tokens.hashCode() : 0);
         return result;
     }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getTokens(); // the tokenizer is not serialized
+        out.defaultWriteObject();
+    }
 }
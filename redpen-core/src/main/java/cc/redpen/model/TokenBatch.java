@@ -0,0 +1,58 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.model;
+
+import cc.redpen.tokenizer.RedPenTokenizer;
+import cc.redpen.tokenizer.TokenElement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sentences tokenized together when the tokens of any of them are requested first.
+ */
+final class TokenBatch {
+    private final RedPenTokenizer tokenizer;
+    private List<Sentence> sentences = new ArrayList<>();
+
+    TokenBatch(RedPenTokenizer tokenizer) {
+        this.tokenizer = tokenizer;
+    }
+
+    void add(Sentence sentence) {
+        sentences.add(sentence);
+    }
+
+    /**
+     * Tokenize the sentences unless they are already tokenized.
+     */
+    synchronized void tokenize() {
+        if (sentences == null) {
+            return;
+        }
+        List<String> contents = new ArrayList<>(sentences.size());
+        for (Sentence sentence : sentences) {
+            contents.add(sentence.getContent());
+        }
+        List<List<TokenElement>> tokens = tokenizer.tokenize(contents);
+        for (int i = 0; i < sentences.size(); i++) {
+            sentences.get(i).setTokens(tokens.get(i));
+        }
+        sentences = null;
+    }
+}
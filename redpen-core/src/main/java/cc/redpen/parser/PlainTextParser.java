@@ -24,11 +24,13 @@ import cc.redpen.tokenizer.RedPenTokenizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,6 +41,7 @@ final class PlainTextParser extends BaseDocumentParser implements Serializable{
     private static final Logger LOG =
             LoggerFactory.getLogger(PlainTextParser.class);
     private static final long serialVersionUID = -4343255148183552844L;
+    private static final int BUFFER_SIZE = 8192;
 
     /**
      * Constructor.
@@ -57,46 +60,203 @@ final class PlainTextParser extends BaseDocumentParser implements Serializable{
         headers.add(new Sentence("", 0));
         documentBuilder.addSection(0, headers);
         documentBuilder.addParagraph();
-        BufferedReader br = createReader(is);
-        String remain = "";
-        String line;
+
+        LineBuffer buffer = new LineBuffer();
+        char[] chars = new char[BUFFER_SIZE];
+        int lineStart = 0;
         int lineNum = 1;
-        try {
-            while ((line = br.readLine()) != null) {
-                int periodPosition = sentenceExtractor.getSentenceEndPosition(line);
-                if (line.equals("")) {
-                    documentBuilder.addParagraph();
-                } else if (periodPosition == -1) {
-                    remain = remain + line;
-                } else {
-                    remain =
-                            this.extractSentences(lineNum, remain + line, sentenceExtractor, documentBuilder);
+        boolean skipLineFeed = false;
+        try (Reader reader = createReader(is)) {
+            int length;
+            while ((length = reader.read(chars)) != -1) {
+                for (int i = 0; i < length; i++) {
+                    char c = chars[i];
+                    if (skipLineFeed) {
+                        skipLineFeed = false;
+                        if (c == '\n') {
+                            continue;
+                        }
+                    }
+                    if (c == '\n' || c == '\r') {
+                        skipLineFeed = c == '\r';
+                        lineStart = endLine(buffer, lineStart, lineNum, sentenceExtractor, documentBuilder);
+                        lineNum++;
+                    } else {
+                        buffer.append(c, lineNum);
+                    }
                 }
-                lineNum++;
             }
         } catch (IOException e) {
             throw new RedPenException(e);
         }
-        if (remain.length() > 0) {
-            documentBuilder.addSentence(remain, lineNum);
+        if (lineStart < buffer.length()) {
+            // the last line without line terminator
+            endLine(buffer, lineStart, lineNum, sentenceExtractor, documentBuilder);
+            lineNum++;
+        }
+        if (buffer.length() > 0) {
+            documentBuilder.addSentence(buffer.createSentence(buffer.length(), lineNum));
         }
         return documentBuilder.build();
     }
 
-    private String extractSentences(int lineNum, String line, SentenceExtractor sentenceExtractor, Document.DocumentBuilder builder) {
-        int periodPosition = sentenceExtractor.getSentenceEndPosition(line);
-        if (periodPosition == -1) {
-            return line;
-        } else {
-            while (true) {
-                builder.addSentence(
-                        line.substring(0, periodPosition + 1), lineNum);
-                line = line.substring(periodPosition + 1, line.length());
-                periodPosition = sentenceExtractor.getSentenceEndPosition(line);
-                if (periodPosition == -1) {
-                    return line;
+    /**
+     * Emit the sentences ending in the line which is at the end of the buffer, and remove them from the buffer.
+     * A line without the end of a sentence is joined to the incomplete sentence before it.
+     * The sentence boundaries are searched only once for a line following a complete sentence,
+     * which is the usual case.
+     *
+     * @return the length of the buffer, that is the start of the next line
+     */
+    private int endLine(LineBuffer buffer, int lineStart, int lineNum,
+                        SentenceExtractor sentenceExtractor, Document.DocumentBuilder builder) {
+        if (lineStart == buffer.length()) {
+            builder.addParagraph();
+            return lineStart;
+        }
+        StringBuilder text = buffer.text;
+        if (lineStart > 0
+                && sentenceExtractor.getSentenceEndPosition(text, lineStart, text.length()) == -1) {
+            return buffer.length();
+        }
+        for (int periodPosition : sentenceExtractor.getSentenceEndPositions(text, 0, text.length())) {
+            builder.addSentence(buffer.createSentence(periodPosition + 1, lineNum));
+        }
+        buffer.compact();
+        return buffer.length();
+    }
+
+    /**
+     * Text not yet emitted as sentences, that is the incomplete sentence followed by the current line,
+     * together with the line and the column where each piece of a line in the text starts.
+     */
+    private static final class LineBuffer {
+        private final StringBuilder text = new StringBuilder();
+        // position in the text and line number of each piece of a line in the text
+        private int[] starts = new int[4];
+        private int[] lineNums = new int[4];
+        private int pieces;
+        // column of the first character in its line, which is not 0 when a sentence ended in the middle of the line
+        private int firstColumn;
+        // length of the sentences emitted since the buffer was compacted
+        private int removed;
+
+        int length() {
+            return text.length();
+        }
+
+        void append(char c, int lineNum) {
+            if (pieces == 0 || lineNums[pieces - 1] != lineNum) {
+                if (pieces == starts.length) {
+                    starts = Arrays.copyOf(starts, pieces * 2);
+                    lineNums = Arrays.copyOf(lineNums, pieces * 2);
                 }
+                starts[pieces] = text.length();
+                lineNums[pieces] = lineNum;
+                pieces++;
+            }
+            text.append(c);
+        }
+
+        /**
+         * Create a sentence of the text from the end of the last sentence created to the given position.
+         * The line number of the sentence is the given one, where the sentence ends, as it has always been.
+         * The start position offset is the column where the sentence starts, and the offset map has the line
+         * and the column of each character, the first of them being the start of the sentence.
+         */
+        Sentence createSentence(int end, int lineNum) {
+            int start = removed;
+            int piece = findPiece(start);
+            int startColumn = start - starts[piece] + (piece == 0 ? firstColumn : 0);
+            int next = piece + 1;
+            while (next < pieces && starts[next] < end) {
+                next++;
+            }
+            int[] breaks = new int[next - piece - 1];
+            int[] breakLineNums = new int[breaks.length];
+            for (int i = 0; i < breaks.length; i++) {
+                breaks[i] = starts[piece + 1 + i] - start;
+                breakLineNums[i] = lineNums[piece + 1 + i];
             }
+            Sentence sentence = new Sentence(text.substring(start, end), lineNum, startColumn);
+            sentence.setOffsetMap(new SentenceOffsets(end - start, lineNums[piece], startColumn,
+                    breaks, breakLineNums));
+            removed = end;
+            return sentence;
+        }
+
+        /**
+         * Remove the sentences created from the text.
+         */
+        void compact() {
+            if (removed == 0) {
+                return;
+            }
+            if (removed == text.length()) {
+                pieces = 0;
+                firstColumn = 0;
+            } else {
+                int piece = findPiece(removed);
+                firstColumn = removed - starts[piece] + (piece == 0 ? firstColumn : 0);
+                pieces -= piece;
+                for (int i = 0; i < pieces; i++) {
+                    starts[i] = starts[piece + i] - removed;
+                    lineNums[i] = lineNums[piece + i];
+                }
+                starts[0] = 0;
+            }
+            text.delete(0, removed);
+            removed = 0;
+        }
+
+        private int findPiece(int position) {
+            int piece = pieces - 1;
+            while (piece > 0 && starts[piece] > position) {
+                piece--;
+            }
+            return piece;
+        }
+    }
+
+    /**
+     * Line and column of each character in a sentence, computed from the lines where the sentence starts
+     * and continues rather than stored for each character.
+     */
+    private static final class SentenceOffsets extends AbstractList<LineOffset> implements Serializable {
+        private static final long serialVersionUID = 4702532960434466211L;
+        private final int size;
+        private final int startLineNum;
+        private final int startColumn;
+        // positions in the sentence where the following lines start, and their line numbers
+        private final int[] breaks;
+        private final int[] breakLineNums;
+
+        SentenceOffsets(int size, int startLineNum, int startColumn, int[] breaks, int[] breakLineNums) {
+            this.size = size;
+            this.startLineNum = startLineNum;
+            this.startColumn = startColumn;
+            this.breaks = breaks;
+            this.breakLineNums = breakLineNums;
+        }
+
+        @Override
+        public LineOffset get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            int line = breaks.length - 1;
+            while (line >= 0 && breaks[line] > index) {
+                line--;
+            }
+            if (line < 0) {
+                return new LineOffset(startLineNum, startColumn + index);
+            }
+            return new LineOffset(breakLineNums[line], index - breaks[line]);
+        }
+
+        @Override
+        public int size() {
+            return size;
         }
     }
 
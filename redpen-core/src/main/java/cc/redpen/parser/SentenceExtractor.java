@@ -20,12 +20,16 @@ package cc.redpen.parser;
 import cc.redpen.config.Configuration;
 import cc.redpen.config.SymbolTable;
 import cc.redpen.model.Sentence;
+import cc.redpen.util.DictionaryRegistry;
 import cc.redpen.util.EndOfSentenceDetector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -37,15 +41,10 @@ import static cc.redpen.config.SymbolType.*;
 public final class SentenceExtractor {
 
     private static final Logger LOG = LoggerFactory.getLogger(SentenceExtractor.class);
-    private Pattern fullStopPattern;
     private char[] fullStopList;
     private char[] rightQuotationList;
-    // TODO make white words configurable.
-    private static final List<String> WHITE_WORDS = generateUmList("Mr.",
-            "Mrs.", "Dr.", "genn.ai", "Co., Ltd.", "Miss.", "a.m.",
-            "U.S.A.", "Jan.", "Feb.", "Mar.", "Apr.",
-            "May.", "Jun.", "Jul.", "Aug.", "Sep.", "Oct.",
-            "Nov.", "Dec.", "Feb.", "B.C", "A.D.");
+    private static final String DEFAULT_ABBREVIATIONS =
+            "default-resources/abbreviation/default-abbreviation-list.dat";
     private EndOfSentenceDetector endOfSentenceDetector;
 
     /**
@@ -63,18 +62,48 @@ public final class SentenceExtractor {
      * @param symbolTable symbolTable
      */
     public SentenceExtractor(SymbolTable symbolTable) {
-        this(extractPeriods(symbolTable), extractRightQuotations(symbolTable));
+        this(symbolTable, Collections.emptyList());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param symbolTable   symbolTable
+     * @param abbreviations abbreviations containing periods which do not end sentences,
+     *                      in addition to the default ones
+     */
+    public SentenceExtractor(SymbolTable symbolTable, Collection<String> abbreviations) {
+        this(extractPeriods(symbolTable), extractRightQuotations(symbolTable), abbreviations);
     }
 
     /**
      * Constructor.
      */
     SentenceExtractor(char[] fullStopList, char[] rightQuotationList) {
+        this(fullStopList, rightQuotationList, Collections.emptyList());
+    }
+
+    /**
+     * Constructor.
+     */
+    SentenceExtractor(char[] fullStopList, char[] rightQuotationList, Collection<String> abbreviations) {
         this.fullStopList = fullStopList;
         this.rightQuotationList = rightQuotationList;
-        this.fullStopPattern = this.constructEndSentencePattern();
+        if (fullStopList == null || fullStopList.length == 0) {
+            throw new IllegalArgumentException("No end character is specified");
+        }
+        List<String> whiteWords = new ArrayList<>(loadDefaultAbbreviations());
+        whiteWords.addAll(abbreviations);
         this.endOfSentenceDetector = new EndOfSentenceDetector(
-                this.fullStopPattern, this.WHITE_WORDS);
+                this.fullStopList, this.rightQuotationList, whiteWords);
+    }
+
+    private static Collection<String> loadDefaultAbbreviations() {
+        try {
+            return DictionaryRegistry.getWordListFromResource(DEFAULT_ABBREVIATIONS, false);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load default abbreviations", e);
+        }
     }
 
     private static char[] extractPeriods(SymbolTable symbolTable) {
@@ -129,11 +158,6 @@ public final class SentenceExtractor {
         }
     }
 
-    private static <E> List<E> generateUmList(E... args) {
-        List<E> list = new ArrayList<>(Arrays.asList(args));
-        return list;
-    }
-
     /**
      * Get Sentence lists.
      *
@@ -143,21 +167,12 @@ public final class SentenceExtractor {
      * @return remaining line
      */
     public String extract(String line, List<Sentence> outputSentences, int lineNum) {
-        int periodPosition = endOfSentenceDetector.getSentenceEndPosition(line);
-        if (periodPosition == -1) {
-            return line;
-        } else {
-            while (true) {
-                Sentence sentence = new Sentence(line.substring(0,
-                        periodPosition + 1), lineNum);
-                outputSentences.add(sentence);
-                line = line.substring(periodPosition + 1, line.length());
-                periodPosition = endOfSentenceDetector.getSentenceEndPosition(line);
-                if (periodPosition == -1) {
-                    return line;
-                }
-            }
+        int start = 0;
+        for (int periodPosition : getSentenceEndPositions(line, 0, line.length())) {
+            outputSentences.add(new Sentence(line.substring(start, periodPosition + 1), lineNum));
+            start = periodPosition + 1;
         }
+        return line.substring(start);
     }
 
     /**
@@ -170,10 +185,37 @@ public final class SentenceExtractor {
         return endOfSentenceDetector.getSentenceEndPosition(str);
     }
 
+    /**
+     * Given a range of string, return the end position of the first sentence in the range.
+     *
+     * @param str   input string
+     * @param start start of the range (inclusive)
+     * @param end   end of the range (exclusive)
+     * @return position of full stop in str when there is a full stop, -1 otherwise
+     */
+    public int getSentenceEndPosition(CharSequence str, int start, int end) {
+        return endOfSentenceDetector.getSentenceEndPosition(str, start, end);
+    }
+
+    /**
+     * Given a range of string, return the end positions of all the sentences in the range.
+     * Each sentence starts just after the end of the previous one, and the rest after
+     * the last position is an incomplete sentence.
+     *
+     * @param str   input string
+     * @param start start of the range (inclusive)
+     * @param end   end of the range (exclusive)
+     * @return positions of full stops in str, empty when there is no full stop
+     */
+    public int[] getSentenceEndPositions(CharSequence str, int start, int end) {
+        return endOfSentenceDetector.getSentenceEndPositions(str, start, end);
+    }
+
     /**
      * Given a set of sentence end characters, construct the
      * regex to detect end sentences.
-     * This method is protected permission just for testing.
+     * The detector looks up the characters in tables instead of the regex,
+     * and this method is protected permission just for testing that both agree.
      *
      * @return regex pattern to detect end sentences
      */
@@ -0,0 +1,103 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.tokenizer;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Tokens of a sentence stored in arrays, instead of one {@link TokenElement} per token.
+ * <p>
+ * Surfaces are kept as offsets and lengths in the sentence, and the tags are shared between
+ * all the tokens with the same tags in the process. {@link #get(int)} returns a new
+ * {@link TokenElement} viewing a token, so that token elements live only while validators use them.
+ */
+final class CompactTokenList extends AbstractList<TokenElement> implements RandomAccess, Serializable {
+    private static final long serialVersionUID = 6092937213459434127L;
+
+    /**
+     * Tags shared between tokens. The number of distinct tags is bounded by the tokenizer dictionary,
+     * since the tags of unknown words do not contain the surfaces.
+     */
+    private static final ConcurrentMap<List<String>, List<String>> SHARED_TAGS = new ConcurrentHashMap<>();
+
+    private final String sentence;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final List<String>[] tags;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    CompactTokenList(String sentence, int capacity) {
+        this.sentence = sentence;
+        this.offsets = new int[capacity];
+        this.lengths = new int[capacity];
+        this.tags = new List[capacity];
+    }
+
+    /**
+     * Add a token.
+     *
+     * @param offset offset of the token in the sentence
+     * @param length length of the token
+     * @param tagArray tags of the token
+     */
+    void add(int offset, int length, String[] tagArray) {
+        offsets[size] = offset;
+        lengths[size] = length;
+        tags[size] = shareTags(tagArray);
+        size++;
+    }
+
+    private static List<String> shareTags(String[] tagArray) {
+        List<String> key = Arrays.asList(tagArray);
+        List<String> shared = SHARED_TAGS.get(key);
+        if (shared == null) {
+            List<String> newTags = Collections.unmodifiableList(Arrays.asList(tagArray.clone()));
+            shared = SHARED_TAGS.putIfAbsent(newTags, newTags);
+            if (shared == null) {
+                shared = newTags;
+            }
+        }
+        return shared;
+    }
+
+    static int sharedTagsSize() {
+        return SHARED_TAGS.size();
+    }
+
+    @Override
+    public TokenElement get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int offset = offsets[index];
+        return new TokenElement(sentence.substring(offset, offset + lengths[index]), tags[index], offset);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -19,25 +19,123 @@ package cc.redpen.tokenizer;
 
 import org.atilika.kuromoji.Token;
 import org.atilika.kuromoji.Tokenizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Tokenizer for Japanese text using Kuromoji.
+ * <p>
+ * All the instances share one Kuromoji tokenizer, which is thread safe, so that the dictionary is loaded
+ * once per process however many configurations or threads use Japanese tokenizers.
+ * The dictionary is loaded when the first instance is created, or in {@link #warmUp(String, int)}.
+ * <p>
+ * With paragraph tokenization, the sentences of a paragraph are joined and tokenized in one call.
+ * The tokens are sliced back onto the sentences, and a sentence is tokenized by itself when a token
+ * crosses its boundaries. Thus the tokens may differ from the tokens of the sentence alone only where
+ * the tokenizer takes the neighbouring sentences into account.
+ */
 public class JapaneseTokenizer implements RedPenTokenizer {
+    private static final Logger LOG = LoggerFactory.getLogger(JapaneseTokenizer.class);
+
+    private final Tokenizer tokenizer;
 
-    private Tokenizer tokenizer;
+    private final boolean paragraphTokenization;
 
     public JapaneseTokenizer() {
-        this.tokenizer = Tokenizer.builder().build();
+        this(false);
     }
 
+    /**
+     * Constructor.
+     *
+     * @param paragraphTokenization true to tokenize the sentences in a paragraph together
+     */
+    public JapaneseTokenizer(boolean paragraphTokenization) {
+        this.tokenizer = SharedTokenizer.INSTANCE;
+        this.paragraphTokenization = paragraphTokenization;
+    }
+
+    /**
+     * Load the dictionary and tokenize the sample text repeatedly, so that the first document to validate
+     * does not pay for loading the dictionary and for compiling the tokenizer code.
+     *
+     * @param sampleText sample Japanese text
+     * @param iterations number of times to tokenize the sample text
+     */
+    public static void warmUp(String sampleText, int iterations) {
+        long start = System.currentTimeMillis();
+        JapaneseTokenizer tokenizer = new JapaneseTokenizer();
+        for (int i = 0; i < iterations; i++) {
+            tokenizer.tokenize(sampleText);
+        }
+        LOG.info("Japanese tokenizer warmed up in {} ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Tokenize the content. The tokens are stored compactly and the returned list is not modifiable.
+     *
+     * @param content sentence to tokenize
+     * @return tokens in the sentence
+     */
     @Override
     public List<TokenElement> tokenize(String content) {
-        List<TokenElement> tokens = new ArrayList<>();
-        for (Token token : tokenizer.tokenize(content)) {
-            tokens.add(new TokenElement(token.getSurfaceForm(), Arrays.asList(token.getAllFeaturesArray())));
+        List<Token> kuromojiTokens = tokenizer.tokenize(content);
+        CompactTokenList tokens = new CompactTokenList(content, kuromojiTokens.size());
+        for (Token token : kuromojiTokens) {
+            tokens.add(token.getPosition(), token.getSurfaceForm().length(), token.getAllFeaturesArray());
         }
         return tokens;
     }
+
+    @Override
+    public List<List<TokenElement>> tokenize(List<String> sentences) {
+        if (!paragraphTokenization || sentences.size() < 2) {
+            return RedPenTokenizer.super.tokenize(sentences);
+        }
+        List<Token> kuromojiTokens = tokenizer.tokenize(String.join("", sentences));
+        List<List<TokenElement>> tokens = new ArrayList<>(sentences.size());
+        int next = 0;
+        int start = 0;
+        for (String sentence : sentences) {
+            int end = start + sentence.length();
+            int first = next;
+            while (next < kuromojiTokens.size() && getEndPosition(kuromojiTokens.get(next)) <= end) {
+                next++;
+            }
+            boolean agree = (first == next || kuromojiTokens.get(first).getPosition() >= start)
+                    && (next == kuromojiTokens.size() || kuromojiTokens.get(next).getPosition() >= end);
+            if (agree) {
+                CompactTokenList sentenceTokens = new CompactTokenList(sentence, next - first);
+                for (int i = first; i < next; i++) {
+                    Token token = kuromojiTokens.get(i);
+                    sentenceTokens.add(token.getPosition() - start, token.getSurfaceForm().length(),
+                            token.getAllFeaturesArray());
+                }
+                tokens.add(sentenceTokens);
+            } else {
+                tokens.add(tokenize(sentence));
+            }
+            start = end;
+        }
+        return tokens;
+    }
+
+    @Override
+    public boolean isParagraphTokenization() {
+        return paragraphTokenization;
+    }
+
+    private static int getEndPosition(Token token) {
+        return token.getPosition() + token.getSurfaceForm().length();
+    }
+
+    /**
+     * Holder of the shared Kuromoji tokenizer, which is built on first access.
+     */
+    private static final class SharedTokenizer {
+        private static final Tokenizer INSTANCE = Tokenizer.builder().build();
+    }
 }
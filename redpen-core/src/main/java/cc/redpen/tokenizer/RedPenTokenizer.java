@@ -17,6 +17,7 @@
  */
 package cc.redpen.tokenizer;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public interface RedPenTokenizer {
@@ -27,4 +28,29 @@ public interface RedPenTokenizer {
      * @return a set of tokens in the input sentence
      */
     List<TokenElement> tokenize(String sentence);
+
+    /**
+     * Tokenize consecutive sentences, such as the sentences in a paragraph.
+     * The default implementation tokenizes the sentences one by one.
+     *
+     * @param sentences input sentences
+     * @return tokens in each of the input sentences
+     */
+    default List<List<TokenElement>> tokenize(List<String> sentences) {
+        List<List<TokenElement>> tokens = new ArrayList<>(sentences.size());
+        for (String sentence : sentences) {
+            tokens.add(tokenize(sentence));
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns whether the sentences in a paragraph should be tokenized together by {@link #tokenize(List)},
+     * which pays when each call of the tokenizer has a large setup cost.
+     *
+     * @return true when sentences should be tokenized by paragraphs
+     */
+    default boolean isParagraphTokenization() {
+        return false;
+    }
 }
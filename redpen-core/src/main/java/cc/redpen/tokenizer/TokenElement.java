@@ -18,7 +18,6 @@
 package cc.redpen.tokenizer;
 
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -29,19 +28,32 @@ public final class TokenElement implements Serializable {
 
     final private List<String> tags;
 
+    final private int offset;
+
     TokenElement(String word) {
+        this(word, 0);
+    }
+
+    TokenElement(String word, int offset) {
         surface = word;
-        tags = Collections.unmodifiableList(new ArrayList<>());
+        tags = Collections.emptyList();
+        this.offset = offset;
     }
 
     TokenElement(String word, String tag) {
         surface = word;
         tags = Collections.unmodifiableList(Arrays.asList(tag));
+        offset = 0;
     }
 
     TokenElement(String word, List<String> tagList) {
+        this(word, tagList, 0);
+    }
+
+    TokenElement(String word, List<String> tagList, int offset) {
         surface = word;
         tags = Collections.unmodifiableList(tagList);
+        this.offset = offset;
     }
 
     public String getSurface() {
@@ -52,6 +64,24 @@ public final class TokenElement implements Serializable {
         return tags;
     }
 
+    /**
+     * Get the position of the token in the tokenized sentence.
+     *
+     * @return offset of the first character of the token
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Get the position next to the token in the tokenized sentence.
+     *
+     * @return offset of the character following the token
+     */
+    public int getEndOffset() {
+        return offset + surface.length();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -61,6 +91,7 @@ public final class TokenElement implements Serializable {
 
         if (surface != null ? !surface.equals(that.surface) : that.surface != null) return false;
         if (tags != null ? !tags.equals(that.tags) : that.tags != null) return false;
+        if (offset != that.offset) return false;
 
         return true;
     }
@@ -69,6 +100,7 @@ public final class TokenElement implements Serializable {
     public int hashCode() {
         int result = surface != null ? surface.hashCode() : 0;
         result = 31 * result + (tags != null ? tags.hashCode() : 0);
+        result = 31 * result + offset;
         return result;
     }
 
@@ -77,6 +109,7 @@ public final class TokenElement implements Serializable {
         return "TokenElement{" +
                 "surface='" + surface + '\'' +
                 ", tags=" + tags +
+                ", offset=" + offset +
                 '}';
     }
 }
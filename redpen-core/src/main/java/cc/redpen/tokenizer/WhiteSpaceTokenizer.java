@@ -20,17 +20,53 @@ package cc.redpen.tokenizer;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Tokenizer splitting a sentence at spaces and at the punctuation marks ".,?()".
+ * <p>
+ * Empty tokens are dropped except for the one before leading delimiters,
+ * and a sentence without delimiters results in one token even when it is empty.
+ */
 public class WhiteSpaceTokenizer implements RedPenTokenizer {
     public WhiteSpaceTokenizer() {}
 
     @Override
     public List<TokenElement> tokenize(String content) {
         List<TokenElement> resultTokens = new ArrayList<>();
-        String normalized = content.replaceAll("\\.|\\,|\\?|\\(|\\)", " ");
-        String [] words = normalized.split(" +");
-        for (String word : words) {
-            resultTokens.add(new TokenElement(word));
+        if (content.isEmpty()) {
+            resultTokens.add(new TokenElement(content, 0));
+            return resultTokens;
+        }
+        int start = -1;
+        for (int i = 0; i < content.length(); i++) {
+            if (isDelimiter(content.charAt(i))) {
+                if (start >= 0) {
+                    resultTokens.add(new TokenElement(content.substring(start, i), start));
+                    start = -1;
+                }
+            } else if (start < 0) {
+                if (i > 0 && resultTokens.isEmpty()) {
+                    resultTokens.add(new TokenElement("", 0));
+                }
+                start = i;
+            }
+        }
+        if (start >= 0) {
+            resultTokens.add(new TokenElement(content.substring(start), start));
         }
         return resultTokens;
     }
+
+    private static boolean isDelimiter(char c) {
+        switch (c) {
+            case ' ':
+            case '.':
+            case ',':
+            case '?':
+            case '(':
+            case ')':
+                return true;
+            default:
+                return false;
+        }
+    }
 }
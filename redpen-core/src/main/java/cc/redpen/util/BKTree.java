@@ -0,0 +1,146 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BK-tree of words for finding the words within a Levenshtein distance from a given word.
+ * <p>
+ * Each word is a node, and the children of a node are keyed by their distance from the node.
+ * A search compares the given word with a node and descends only into the children whose keys can lead
+ * to words within the distance, by the triangle inequality. Edits cost one each.
+ * <p>
+ * Words can be added at any time. The tree is not thread safe.
+ */
+public final class BKTree {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private String[] words = new String[INITIAL_CAPACITY];
+    private int[] firstChild = new int[INITIAL_CAPACITY];
+    private int[] nextSibling = new int[INITIAL_CAPACITY];
+    private int[] keys = new int[INITIAL_CAPACITY];
+    // largest key of the children of each node
+    private int[] maxKeys = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Add a word to the tree.
+     *
+     * @param word word to add
+     * @return false when the word is already in the tree
+     */
+    public boolean add(String word) {
+        if (size > 0) {
+            int parent = 0;
+            while (true) {
+                int distance = EditDistance.UNIT.distance(words[parent], word);
+                if (distance == 0) {
+                    return false;
+                }
+                int child = firstChild[parent];
+                while (child >= 0 && keys[child] != distance) {
+                    child = nextSibling[child];
+                }
+                if (child < 0) {
+                    append(word, distance);
+                    nextSibling[size - 1] = firstChild[parent];
+                    firstChild[parent] = size - 1;
+                    maxKeys[parent] = Math.max(maxKeys[parent], distance);
+                    return true;
+                }
+                parent = child;
+            }
+        }
+        append(word, 0);
+        return true;
+    }
+
+    private void append(String word, int key) {
+        if (size == words.length) {
+            int capacity = size * 2;
+            words = Arrays.copyOf(words, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+            maxKeys = Arrays.copyOf(maxKeys, capacity);
+        }
+        words[size] = word;
+        firstChild[size] = -1;
+        nextSibling[size] = -1;
+        keys[size] = key;
+        maxKeys[size] = 0;
+        size++;
+    }
+
+    /**
+     * Get the number of words in the tree.
+     *
+     * @return the number of words
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Find the words within an edit distance from the given word, in the order they were added.
+     *
+     * @param word        word to search
+     * @param maxDistance maximum edit distance
+     * @return words within the distance
+     */
+    public List<String> search(String word, int maxDistance) {
+        List<String> matches = new ArrayList<>();
+        if (size == 0) {
+            return matches;
+        }
+        EditDistance.Matcher matcher = EditDistance.UNIT.matcher(word);
+        int[] found = new int[INITIAL_CAPACITY];
+        int count = 0;
+        int[] stack = new int[INITIAL_CAPACITY];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            // no child can be reached beyond the largest key, thus a larger distance needs not be exact
+            int distance = matcher.distanceWithin(words[node], maxKeys[node] + maxDistance);
+            if (distance <= maxDistance) {
+                if (count == found.length) {
+                    found = Arrays.copyOf(found, count * 2);
+                }
+                found[count++] = node;
+            }
+            for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+                if (Math.abs(keys[child] - distance) <= maxDistance) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = child;
+                }
+            }
+        }
+        // nodes are numbered in the order the words were added
+        Arrays.sort(found, 0, count);
+        for (int i = 0; i < count; i++) {
+            matches.add(words[found[i]]);
+        }
+        return matches;
+    }
+}
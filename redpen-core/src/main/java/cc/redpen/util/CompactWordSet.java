@@ -0,0 +1,281 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable set of words packed into arrays, for dictionaries with many words.
+ * <p>
+ * The characters of all the words are stored in one array, of bytes when all the characters are in Latin-1,
+ * and the words are found through an open addressing hash table of word indices.
+ * Compared with a {@link java.util.HashSet}, this saves the entry object and the string object of every word.
+ * <p>
+ * The arrays are held in buffers, so that a set can also read the words directly from a compiled dictionary
+ * in a memory mapped file. The binary format is a header of six little endian ints (magic number, version, flags,
+ * number of words, number of characters and size of the hash table) followed by the word offsets,
+ * the hash codes of the words, the hash table and the characters.
+ */
+final class CompactWordSet extends AbstractSet<String> {
+    static final int MAGIC = 0x44575052; // "RPWD" in little endian
+    static final int VERSION = 1;
+    private static final int LATIN1 = 1;
+    private static final int LOWER_CASE = 2;
+    private static final int HEADER_INTS = 6;
+
+    private final int flags;
+    private final IntBuffer starts;
+    private final IntBuffer hashes;
+    private final IntBuffer table;
+    private final int mask;
+    private final ByteBuffer latin1; // null unless all the characters are in Latin-1
+    private final CharBuffer chars; // null when the characters are in latin1
+
+    private CompactWordSet(int flags, IntBuffer starts, IntBuffer hashes, IntBuffer table,
+                           ByteBuffer latin1, CharBuffer chars) {
+        this.flags = flags;
+        this.starts = starts;
+        this.hashes = hashes;
+        this.table = table;
+        this.mask = table.limit() - 1;
+        this.latin1 = latin1;
+        this.chars = chars;
+    }
+
+    /**
+     * Create a set of the given distinct words.
+     *
+     * @param words words without duplicates
+     * @return immutable set of the words
+     */
+    static CompactWordSet copyOf(Collection<String> words) {
+        int size = words.size();
+        int length = 0;
+        boolean isLatin1 = true;
+        boolean isLowerCase = true;
+        for (String word : words) {
+            length += word.length();
+            for (int i = 0; i < word.length() && isLatin1; i++) {
+                isLatin1 = word.charAt(i) <= 0xFF;
+            }
+            isLowerCase = isLowerCase && word.equals(word.toLowerCase());
+        }
+        // load factor between 1/3 and 2/3
+        int capacity = Integer.highestOneBit(Math.max(size + size / 2, 1)) << 1;
+        int[] starts = new int[size + 1];
+        int[] hashes = new int[size];
+        int[] table = new int[capacity];
+        byte[] latin1 = isLatin1 ? new byte[length] : null;
+        char[] chars = isLatin1 ? null : new char[length];
+
+        int index = 0;
+        int start = 0;
+        for (String word : words) {
+            if (isLatin1) {
+                for (int i = 0; i < word.length(); i++) {
+                    latin1[start + i] = (byte) word.charAt(i);
+                }
+            } else {
+                word.getChars(0, word.length(), chars, start);
+            }
+            starts[index] = start;
+            hashes[index] = word.hashCode();
+            int slot = spread(hashes[index]) & (capacity - 1);
+            while (table[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            table[slot] = index + 1;
+            start += word.length();
+            index++;
+        }
+        starts[size] = start;
+
+        int flags = (isLatin1 ? LATIN1 : 0) | (isLowerCase ? LOWER_CASE : 0);
+        return new CompactWordSet(flags, IntBuffer.wrap(starts), IntBuffer.wrap(hashes), IntBuffer.wrap(table),
+                isLatin1 ? ByteBuffer.wrap(latin1) : null, isLatin1 ? null : CharBuffer.wrap(chars));
+    }
+
+    /**
+     * Read a set written by {@link #write(OutputStream)}. The set reads the words from the given buffer.
+     *
+     * @param buffer buffer of a compiled dictionary, such as a memory mapped file
+     * @return immutable set of the words
+     * @throws IOException when the buffer is not a compiled dictionary of this version
+     */
+    static CompactWordSet read(ByteBuffer buffer) throws IOException {
+        ByteBuffer content = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        content.position(0);
+        try {
+            if (content.getInt() != MAGIC) {
+                throw new IOException("Not a compiled dictionary");
+            }
+            int version = content.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported version of compiled dictionary: " + version);
+            }
+            int flags = content.getInt();
+            int size = content.getInt();
+            int length = content.getInt();
+            int capacity = content.getInt();
+            if (size < 0 || length < 0 || Integer.bitCount(capacity) != 1 || capacity <= size) {
+                throw new IOException("Broken compiled dictionary");
+            }
+            IntBuffer starts = slice(content, (size + 1) * 4).asIntBuffer();
+            IntBuffer hashes = slice(content, size * 4).asIntBuffer();
+            IntBuffer table = slice(content, capacity * 4).asIntBuffer();
+            if ((flags & LATIN1) != 0) {
+                return new CompactWordSet(flags, starts, hashes, table, slice(content, length), null);
+            } else {
+                return new CompactWordSet(flags, starts, hashes, table, null,
+                        slice(content, length * 2).asCharBuffer());
+            }
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new IOException("Broken compiled dictionary", e);
+        }
+    }
+
+    private static ByteBuffer slice(ByteBuffer content, int length) {
+        ByteBuffer slice = content.slice().order(ByteOrder.LITTLE_ENDIAN);
+        slice.limit(length);
+        content.position(content.position() + length);
+        return slice;
+    }
+
+    /**
+     * Write the set in the binary format.
+     *
+     * @param outputStream output stream, which is not closed
+     * @throws IOException when failed to write
+     */
+    void write(OutputStream outputStream) throws IOException {
+        int charBytes = latin1 != null ? latin1.limit() : chars.limit() * 2;
+        ByteBuffer buffer = ByteBuffer.allocate((HEADER_INTS + starts.limit() + hashes.limit() + table.limit()) * 4
+                + charBytes).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(flags).putInt(size())
+                .putInt(latin1 != null ? latin1.limit() : chars.limit()).putInt(table.limit());
+        for (IntBuffer ints : new IntBuffer[]{starts, hashes, table}) {
+            for (int i = 0; i < ints.limit(); i++) {
+                buffer.putInt(ints.get(i));
+            }
+        }
+        if (latin1 != null) {
+            buffer.put(latin1.duplicate());
+        } else {
+            for (int i = 0; i < chars.limit(); i++) {
+                buffer.putChar(chars.get(i));
+            }
+        }
+        buffer.flip();
+        WritableByteChannel channel = Channels.newChannel(outputStream);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Returns whether all the words are in lower case.
+     *
+     * @return true when converting the words to lower case does not change them
+     */
+    boolean isLowerCase() {
+        return (flags & LOWER_CASE) != 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof String)) {
+            return false;
+        }
+        String word = (String) o;
+        int hash = word.hashCode();
+        int slot = spread(hash) & mask;
+        int entry;
+        while ((entry = table.get(slot)) != 0) {
+            int index = entry - 1;
+            if (hashes.get(index) == hash && matches(index, word)) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    private boolean matches(int index, String word) {
+        int start = starts.get(index);
+        if (starts.get(index + 1) - start != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (charAt(start + i) != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private char charAt(int index) {
+        return latin1 != null ? (char) (latin1.get(index) & 0xFF) : chars.get(index);
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    @Override
+    public int size() {
+        return hashes.limit();
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size();
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int start = starts.get(index);
+                index++;
+                char[] word = new char[starts.get(index) - start];
+                for (int i = 0; i < word.length; i++) {
+                    word[i] = charAt(start + i);
+                }
+                return new String(word);
+            }
+        };
+    }
+}
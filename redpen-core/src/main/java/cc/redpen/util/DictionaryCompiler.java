@@ -0,0 +1,143 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Compiles word lists into the binary format read by {@link DictionaryRegistry}.
+ * <p>
+ * Every "*.dat" word list in the input directory is compiled into a "*.dict" file at the same relative path
+ * in the output directory, and also into a "*.lower.dict" file converted to lower case unless all the words
+ * are in lower case already. When subdirectories are given, only the word lists in them are compiled,
+ * which keeps key-value dictionaries and other files in the input directory out of the output.
+ * A subdirectory followed by ":lower" is compiled only into "*.lower.dict" files, and one without it
+ * only into "*.dict" files, so that only the variant a validator loads is written.
+ * The build runs the compiler on the bundled word lists loaded through {@link DictionaryRegistry},
+ * and users can compile their own dictionaries as well:
+ * java -cp redpen-core.jar cc.redpen.util.DictionaryCompiler input output [subdirectory[:lower]...]
+ */
+public final class DictionaryCompiler {
+    private static final Logger LOG = LoggerFactory.getLogger(DictionaryCompiler.class);
+
+    private DictionaryCompiler() {
+    }
+
+    public static void main(String... args) throws IOException {
+        if (args.length < 2) {
+            System.err.println(
+                    "Usage: DictionaryCompiler <INPUT DIRECTORY> <OUTPUT DIRECTORY> [SUBDIRECTORY[:lower]...]");
+            System.exit(1);
+        }
+        File inputDirectory = new File(args[0]);
+        File outputDirectory = new File(args[1]);
+        if (args.length == 2) {
+            compileDirectory(inputDirectory, outputDirectory);
+            return;
+        }
+        for (int i = 2; i < args.length; i++) {
+            boolean toLowerCase = args[i].endsWith(":lower");
+            String name = toLowerCase ? args[i].substring(0, args[i].length() - 6) : args[i];
+            compileDirectory(new File(inputDirectory, name), new File(outputDirectory, name), toLowerCase);
+        }
+    }
+
+    /**
+     * Compile the word lists in a directory and its subdirectories.
+     *
+     * @param inputDirectory  directory containing word lists
+     * @param outputDirectory directory to write the compiled word lists
+     * @throws IOException when failed to read or write a word list
+     */
+    public static void compileDirectory(File inputDirectory, File outputDirectory) throws IOException {
+        compileDirectory(inputDirectory, outputDirectory, true, true);
+    }
+
+    /**
+     * Compile the word lists in a directory and its subdirectories into one of the variants.
+     *
+     * @param inputDirectory  directory containing word lists
+     * @param outputDirectory directory to write the compiled word lists
+     * @param toLowerCase     true to write only the word lists converted to lower case,
+     *                        false to write only the word lists as they are
+     * @throws IOException when failed to read or write a word list
+     */
+    public static void compileDirectory(File inputDirectory, File outputDirectory, boolean toLowerCase)
+            throws IOException {
+        compileDirectory(inputDirectory, outputDirectory, !toLowerCase, toLowerCase);
+    }
+
+    private static void compileDirectory(File inputDirectory, File outputDirectory,
+                                         boolean original, boolean lowerCase) throws IOException {
+        File[] files = inputDirectory.listFiles();
+        if (files == null) {
+            throw new IOException("Failed to list " + inputDirectory);
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                compileDirectory(file, new File(outputDirectory, file.getName()), original, lowerCase);
+            } else if (file.getName().endsWith(".dat")) {
+                String name = file.getName();
+                File originalOutput = new File(outputDirectory, DictionaryRegistry.getCompiledPath(name, false));
+                File lowerCaseOutput = new File(outputDirectory, DictionaryRegistry.getCompiledPath(name, true));
+                // the lower case variant is not needed when the word list is in lower case already
+                boolean isLowerCase = original && compile(file, originalOutput, false);
+                if (lowerCase && !isLowerCase) {
+                    compile(file, lowerCaseOutput, true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compile a word list.
+     *
+     * @param input       word list with a word in each line
+     * @param output      compiled word list
+     * @param toLowerCase true to convert the words to lower case
+     * @return true when all the words are in lower case
+     * @throws IOException when failed to read or write the word list
+     */
+    public static boolean compile(File input, File output, boolean toLowerCase) throws IOException {
+        WordListExtractor extractor = new WordListExtractor();
+        if (toLowerCase) {
+            extractor.setToLowerCase();
+        }
+        try (InputStream inputStream = new FileInputStream(input)) {
+            extractor.load(inputStream);
+        }
+        File directory = output.getAbsoluteFile().getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Failed to create " + directory);
+        }
+        CompactWordSet words = CompactWordSet.copyOf(extractor.get());
+        try (OutputStream outputStream = new FileOutputStream(output)) {
+            words.write(outputStream);
+        }
+        LOG.info("Compiled {} words in {} into {}", words.size(), input, output);
+        return words.isLowerCase();
+    }
+}
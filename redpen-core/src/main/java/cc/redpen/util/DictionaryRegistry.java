@@ -0,0 +1,373 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.zip.CRC32;
+
+/**
+ * Process-wide registry of dictionaries loaded by validators.
+ * <p>
+ * A dictionary is loaded once per resource path, or per file path and modification time and size,
+ * and the same unmodifiable instance is handed to every validator of every configuration.
+ * Word lists are packed into {@link CompactWordSet}s, since some of them hold more than a hundred thousand words.
+ * A word list compiled by {@link DictionaryCompiler} is used in place, memory mapped when it is a file,
+ * so that processes on a host share the pages of the dictionary, and the text word list is not parsed.
+ * A compiled word list in a jar file is extracted once into a directory under java.io.tmpdir,
+ * named after the version of RedPen and the checksum of the entry, and mapped from there.
+ * The registry holds dictionaries weakly: a dictionary stays registered while some validator refers to it,
+ * and is released when the last validator using it is collected.
+ * The {@link WordTrie} of a word list is built once and released together with the word list.
+ */
+public final class DictionaryRegistry {
+    private static final Logger LOG = LoggerFactory.getLogger(DictionaryRegistry.class);
+
+    private static final Map<String, DictionaryReference> DICTIONARIES = new HashMap<>();
+    private static final ReferenceQueue<Object> QUEUE = new ReferenceQueue<>();
+    private static final File CACHE_DIRECTORY = new File(System.getProperty("java.io.tmpdir"),
+            "redpen-" + getVersion());
+
+    private DictionaryRegistry() {
+    }
+
+    /**
+     * Get a word list included in the jar file.
+     * The compiled word list next to the resource is used when it exists.
+     *
+     * @param resourcePath path of the resource
+     * @param toLowerCase  true to convert the words to lower case
+     * @return unmodifiable set of words
+     * @throws IOException when failed to load the resource
+     */
+    public static Set<String> getWordListFromResource(String resourcePath, boolean toLowerCase) throws IOException {
+        String key = "resource:" + resourcePath + ":words:" + toLowerCase;
+        return get(key, () -> {
+            CompactWordSet compiled = toLowerCase ? loadCompiledResource(getCompiledPath(resourcePath, true)) : null;
+            if (compiled == null) {
+                compiled = loadCompiledResource(getCompiledPath(resourcePath, false));
+            }
+            if (compiled != null) {
+                return toLowerCase ? toLowerCase(compiled) : compiled;
+            }
+            WordListExtractor extractor = createWordListExtractor(toLowerCase);
+            extractor.loadFromResource(resourcePath);
+            return CompactWordSet.copyOf(extractor.get());
+        });
+    }
+
+    /**
+     * Get a word list in a file, which is either a text file with a word in each line
+     * or a word list compiled by {@link DictionaryCompiler}.
+     *
+     * @param file        dictionary file
+     * @param toLowerCase true to convert the words to lower case
+     * @return unmodifiable set of words
+     * @throws IOException when failed to read the file
+     */
+    public static Set<String> getWordList(File file, boolean toLowerCase) throws IOException {
+        String key = fileKey(file) + ":words:" + toLowerCase;
+        return get(key, () -> {
+            if (isCompiled(file)) {
+                CompactWordSet compiled = map(file);
+                return toLowerCase ? toLowerCase(compiled) : compiled;
+            }
+            WordListExtractor extractor = createWordListExtractor(toLowerCase);
+            try (InputStream inputStream = new FileInputStream(file)) {
+                extractor.load(inputStream);
+            }
+            return CompactWordSet.copyOf(extractor.get());
+        });
+    }
+
+    /**
+     * Get the trie of a word list got from this registry, to search the words near a given word.
+     * The trie is built when it is requested first, and shared while the word list is registered.
+     *
+     * @param words word list returned by this registry
+     * @return trie of the words
+     * @throws IllegalArgumentException when the word list is not registered
+     */
+    public static WordTrie getWordTrie(Set<String> words) {
+        DictionaryReference reference = find(words);
+        if (reference == null) {
+            throw new IllegalArgumentException("Word list is not registered");
+        }
+        // built outside the registry lock, since it takes a while for a large word list
+        synchronized (reference) {
+            if (reference.trie == null) {
+                long start = System.currentTimeMillis();
+                reference.trie = new WordTrie(words);
+                LOG.info("Built trie of {} in {} ms", reference.key, System.currentTimeMillis() - start);
+            }
+            return reference.trie;
+        }
+    }
+
+    /**
+     * Get the path of the compiled word list for a word list.
+     *
+     * @param path        path of a word list
+     * @param toLowerCase true for the word list converted to lower case
+     * @return path with the extension of compiled word lists
+     */
+    static String getCompiledPath(String path, boolean toLowerCase) {
+        String basePath = path.endsWith(".dat") ? path.substring(0, path.length() - 4) : path;
+        return basePath + (toLowerCase ? ".lower.dict" : ".dict");
+    }
+
+    /**
+     * Get a key value dictionary in a file.
+     *
+     * @param file dictionary file in TSV with two columns
+     * @return unmodifiable map
+     * @throws IOException when failed to read the file
+     */
+    public static Map<String, String> getKeyValueDictionary(File file) throws IOException {
+        String key = fileKey(file) + ":key-value";
+        return get(key, () -> {
+            KeyValueDictionaryExtractor extractor = new KeyValueDictionaryExtractor();
+            try (InputStream inputStream = new FileInputStream(file)) {
+                extractor.load(inputStream);
+            }
+            return Collections.unmodifiableMap(extractor.get());
+        });
+    }
+
+    /**
+     * Get the number of dictionaries registered.
+     *
+     * @return the number of dictionaries in use
+     */
+    public static synchronized int size() {
+        expunge();
+        return DICTIONARIES.size();
+    }
+
+    private static WordListExtractor createWordListExtractor(boolean toLowerCase) {
+        WordListExtractor extractor = new WordListExtractor();
+        if (toLowerCase) {
+            extractor.setToLowerCase();
+        }
+        return extractor;
+    }
+
+    private static CompactWordSet loadCompiledResource(String resourcePath) {
+        URL url = DictionaryRegistry.class.getClassLoader().getResource(resourcePath);
+        if (url == null) {
+            return null;
+        }
+        try {
+            if (url.getProtocol().equals("file")) {
+                return map(new File(url.toURI()));
+            }
+            File extracted = extract(url);
+            if (extracted != null) {
+                return map(extracted);
+            }
+            return CompactWordSet.read(ByteBuffer.wrap(readFully(url)));
+        } catch (IOException | URISyntaxException e) {
+            LOG.warn("Failed to load compiled dictionary {}, loading the word list instead: {}",
+                    resourcePath, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Extract a compiled word list in a jar file into the cache directory, unless it is extracted already.
+     *
+     * @param url URL of a jar entry
+     * @return extracted file, or null when the word list is not in a jar file or cannot be extracted
+     */
+    static File extract(URL url) {
+        try {
+            URLConnection connection = url.openConnection();
+            if (!(connection instanceof JarURLConnection)) {
+                return null;
+            }
+            JarEntry entry = ((JarURLConnection) connection).getJarEntry();
+            if (entry == null || entry.getCrc() == -1) {
+                return null;
+            }
+            String name = entry.getName();
+            int extension = name.lastIndexOf('.');
+            File file = new File(CACHE_DIRECTORY, String.format("%s-%08x%s",
+                    name.substring(0, extension), entry.getCrc(), name.substring(extension)));
+            if (file.length() == entry.getSize() && checksum(file) == entry.getCrc()) {
+                return file;
+            }
+            File directory = file.getParentFile();
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Failed to create " + directory);
+            }
+            // written to a temporary file and moved, since other processes may read the file at the same time
+            Path temporary = Files.createTempFile(directory.toPath(), file.getName(), ".tmp");
+            try {
+                try (InputStream inputStream = connection.getInputStream()) {
+                    Files.copy(inputStream, temporary, StandardCopyOption.REPLACE_EXISTING);
+                }
+                try {
+                    Files.move(temporary, file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temporary, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+            LOG.info("Extracted compiled dictionary {} into {}", url, file);
+            return file;
+        } catch (IOException e) {
+            LOG.warn("Failed to extract compiled dictionary {}, reading it into memory: {}", url, e.getMessage());
+            return null;
+        }
+    }
+
+    private static long checksum(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32 crc = new CRC32();
+            crc.update(buffer);
+            return crc.getValue();
+        }
+    }
+
+    private static byte[] readFully(URL url) throws IOException {
+        try (InputStream inputStream = url.openStream()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int length;
+            while ((length = inputStream.read(chunk)) != -1) {
+                bytes.write(chunk, 0, length);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    private static String getVersion() {
+        Package dictionaryPackage = DictionaryRegistry.class.getPackage();
+        String version = dictionaryPackage != null ? dictionaryPackage.getImplementationVersion() : null;
+        return version != null ? version : "dev";
+    }
+
+    private static boolean isCompiled(File file) throws IOException {
+        try (DataInputStream inputStream = new DataInputStream(new FileInputStream(file))) {
+            return Integer.reverseBytes(inputStream.readInt()) == CompactWordSet.MAGIC;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    private static CompactWordSet map(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return CompactWordSet.read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    private static CompactWordSet toLowerCase(CompactWordSet words) {
+        if (words.isLowerCase()) {
+            return words;
+        }
+        Set<String> lowerCaseWords = new HashSet<>();
+        for (String word : words) {
+            lowerCaseWords.add(word.toLowerCase());
+        }
+        return CompactWordSet.copyOf(lowerCaseWords);
+    }
+
+    private static String fileKey(File file) throws IOException {
+        if (!file.isFile()) {
+            throw new IOException("Failed to load input " + file);
+        }
+        return "file:" + file.getCanonicalPath() + ":" + file.lastModified() + ":" + file.length();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static synchronized <T> T get(String key, Loader<T> loader) throws IOException {
+        expunge();
+        DictionaryReference reference = DICTIONARIES.get(key);
+        Object dictionary = reference != null ? reference.get() : null;
+        if (dictionary == null) {
+            LOG.info("Loading dictionary {}", key);
+            dictionary = loader.load();
+            DICTIONARIES.put(key, new DictionaryReference(key, dictionary));
+        }
+        return (T) dictionary;
+    }
+
+    private static synchronized DictionaryReference find(Object dictionary) {
+        expunge();
+        for (DictionaryReference reference : DICTIONARIES.values()) {
+            if (reference.get() == dictionary) {
+                return reference;
+            }
+        }
+        return null;
+    }
+
+    private static void expunge() {
+        DictionaryReference reference;
+        while ((reference = (DictionaryReference) QUEUE.poll()) != null) {
+            // the key may be registered again with a new dictionary
+            DICTIONARIES.remove(reference.key, reference);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Loader<T> {
+        T load() throws IOException;
+    }
+
+    private static final class DictionaryReference extends WeakReference<Object> {
+        private final String key;
+        // held by the reference so that the trie is released with the dictionary
+        private WordTrie trie;
+
+        DictionaryReference(String key, Object dictionary) {
+            super(dictionary, QUEUE);
+            this.key = key;
+        }
+    }
+}
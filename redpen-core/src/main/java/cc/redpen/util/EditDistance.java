@@ -0,0 +1,320 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.util;
+
+/**
+ * Levenshtein distance with edit costs of its own.
+ * <p>
+ * With the unit costs, the distance is computed by the bit-parallel algorithm of Myers and Hyyrö
+ * when one of the strings has at most 64 characters, and by dynamic programming otherwise.
+ * {@link #distanceWithin(CharSequence, CharSequence, int)} gives up as soon as the distance
+ * is known to exceed the given threshold. A {@link Matcher} keeps the preprocessed pattern
+ * to compare one string with many strings.
+ * <p>
+ * Instances are immutable, and can be used from multiple threads. Working buffers are kept per thread.
+ */
+public final class EditDistance {
+    /**
+     * Edit distance which costs one for each edit.
+     */
+    public static final EditDistance UNIT = new EditDistance(
+            LevenshteinDistance.DEFAULT_INSERTION_COST,
+            LevenshteinDistance.DEFAULT_DELETION_COST,
+            LevenshteinDistance.DEFAULT_SUBSTITUTION_COST);
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private final int insertionCost;
+    private final int deletionCost;
+    private final int substitutionCost;
+    private final boolean unitCost;
+
+    /**
+     * Constructor.
+     *
+     * @param insertionCost    cost to insert a character of the second string
+     * @param deletionCost     cost to delete a character of the first string
+     * @param substitutionCost cost to substitute a character
+     */
+    public EditDistance(int insertionCost, int deletionCost, int substitutionCost) {
+        if (insertionCost < 0 || deletionCost < 0 || substitutionCost < 0) {
+            throw new IllegalArgumentException("Edit costs must not be negative");
+        }
+        this.insertionCost = insertionCost;
+        this.deletionCost = deletionCost;
+        this.substitutionCost = substitutionCost;
+        this.unitCost = insertionCost == 1 && deletionCost == 1 && substitutionCost == 1;
+    }
+
+    /**
+     * Get the cost for "insertion".
+     *
+     * @return the cost for "insertion"
+     */
+    public int getInsertionCost() {
+        return insertionCost;
+    }
+
+    /**
+     * Get the cost for "deletion".
+     *
+     * @return the cost for "deletion"
+     */
+    public int getDeletionCost() {
+        return deletionCost;
+    }
+
+    /**
+     * Get the cost for "substitution".
+     *
+     * @return the cost for "substitution"
+     */
+    public int getSubstitutionCost() {
+        return substitutionCost;
+    }
+
+    /**
+     * Get the distance to edit a string into another string.
+     *
+     * @param a a string
+     * @param b one another string
+     * @return the distance
+     */
+    public int distance(CharSequence a, CharSequence b) {
+        return distanceWithin(a, b, Integer.MAX_VALUE - 1);
+    }
+
+    /**
+     * Get the distance to edit a string into another string, when it does not exceed the threshold.
+     *
+     * @param a         a string
+     * @param b         one another string
+     * @param threshold maximum distance of interest
+     * @return the distance, or threshold + 1 when the distance exceeds the threshold
+     */
+    public int distanceWithin(CharSequence a, CharSequence b, int threshold) {
+        if (isBeyond(a, b, threshold)) {
+            return threshold + 1;
+        }
+        if (unitCost) {
+            // the unit distance is symmetric, thus the shorter string can be the pattern
+            CharSequence pattern = a.length() <= b.length() ? a : b;
+            CharSequence text = pattern == a ? b : a;
+            if (pattern.length() <= Long.SIZE) {
+                PatternMasks masks = BUFFERS.get().masks;
+                masks.set(pattern);
+                try {
+                    return bitParallel(masks, pattern.length(), text, threshold);
+                } finally {
+                    masks.clear();
+                }
+            }
+        }
+        return dynamicProgramming(a, b, threshold);
+    }
+
+    /**
+     * Create a matcher to compare the given pattern with other strings.
+     *
+     * @param pattern a string
+     * @return matcher of the pattern
+     */
+    public Matcher matcher(CharSequence pattern) {
+        return new Matcher(pattern);
+    }
+
+    /**
+     * Distance from a fixed string to other strings. A matcher can be used from multiple threads.
+     */
+    public final class Matcher {
+        private final CharSequence pattern;
+        private final PatternMasks masks;
+
+        private Matcher(CharSequence pattern) {
+            this.pattern = pattern;
+            if (unitCost && pattern.length() <= Long.SIZE) {
+                masks = new PatternMasks();
+                masks.set(pattern);
+            } else {
+                masks = null;
+            }
+        }
+
+        /**
+         * Get the distance to edit the pattern into the given string, when it does not exceed the threshold.
+         *
+         * @param text      a string
+         * @param threshold maximum distance of interest
+         * @return the distance, or threshold + 1 when the distance exceeds the threshold
+         */
+        public int distanceWithin(CharSequence text, int threshold) {
+            if (isBeyond(pattern, text, threshold)) {
+                return threshold + 1;
+            }
+            if (masks != null) {
+                return bitParallel(masks, pattern.length(), text, threshold);
+            }
+            return EditDistance.this.distanceWithin(pattern, text, threshold);
+        }
+    }
+
+    /**
+     * Returns true when the difference of the lengths alone makes the distance exceed the threshold.
+     */
+    private boolean isBeyond(CharSequence a, CharSequence b, int threshold) {
+        long lowerBound = a.length() > b.length()
+                ? (long) (a.length() - b.length()) * deletionCost
+                : (long) (b.length() - a.length()) * insertionCost;
+        return threshold < 0 || lowerBound > threshold;
+    }
+
+    private static int bitParallel(PatternMasks masks, int length, CharSequence text, int threshold) {
+        int remaining = text.length();
+        if (length == 0) {
+            return remaining <= threshold ? remaining : threshold + 1;
+        }
+        long last = 1L << (length - 1);
+        long positive = -1L;
+        long negative = 0L;
+        int score = length;
+        for (int j = 0; j < text.length(); j++) {
+            long equal = masks.get(text.charAt(j));
+            long vertical = equal | negative;
+            long horizontal = (((equal & positive) + positive) ^ positive) | equal;
+            long positiveHorizontal = negative | ~(horizontal | positive);
+            long negativeHorizontal = positive & horizontal;
+            if ((positiveHorizontal & last) != 0) {
+                score++;
+            } else if ((negativeHorizontal & last) != 0) {
+                score--;
+            }
+            // each remaining character lowers the score at most by one
+            remaining--;
+            if (score - remaining > threshold) {
+                return threshold + 1;
+            }
+            // the first row grows by one for each character of the text
+            positiveHorizontal = (positiveHorizontal << 1) | 1L;
+            negativeHorizontal <<= 1;
+            positive = negativeHorizontal | ~(vertical | positiveHorizontal);
+            negative = positiveHorizontal & vertical;
+        }
+        return score <= threshold ? score : threshold + 1;
+    }
+
+    private int dynamicProgramming(CharSequence a, CharSequence b, int threshold) {
+        int lengthA = a.length();
+        int lengthB = b.length();
+        Buffers buffers = BUFFERS.get();
+        int[] previous = buffers.getRow(0, lengthB + 1);
+        int[] current = buffers.getRow(1, lengthB + 1);
+        for (int j = 0; j <= lengthB; j++) {
+            previous[j] = saturate((long) j * insertionCost);
+        }
+        for (int i = 1; i <= lengthA; i++) {
+            char c = a.charAt(i - 1);
+            current[0] = saturate((long) i * deletionCost);
+            int rowMin = current[0];
+            for (int j = 1; j <= lengthB; j++) {
+                int value;
+                if (c == b.charAt(j - 1)) {
+                    value = previous[j - 1];
+                } else {
+                    value = saturate(Math.min(Math.min(
+                            (long) previous[j] + deletionCost,
+                            (long) current[j - 1] + insertionCost),
+                            (long) previous[j - 1] + substitutionCost));
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            // the distance is not smaller than the minimum of any row
+            if (rowMin > threshold) {
+                return threshold + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[lengthB] <= threshold ? previous[lengthB] : threshold + 1;
+    }
+
+    private static int saturate(long value) {
+        return (int) Math.min(value, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Open addressing table from the characters of a pattern to their positions as bits.
+     */
+    private static final class PatternMasks {
+        private static final int SLOTS = 128;
+
+        private final char[] characters = new char[SLOTS];
+        private final long[] masks = new long[SLOTS];
+        private final int[] usedSlots = new int[Long.SIZE];
+        private int used;
+
+        void set(CharSequence pattern) {
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                int slot = c & (SLOTS - 1);
+                while (masks[slot] != 0L && characters[slot] != c) {
+                    slot = (slot + 1) & (SLOTS - 1);
+                }
+                if (masks[slot] == 0L) {
+                    characters[slot] = c;
+                    usedSlots[used++] = slot;
+                }
+                masks[slot] |= 1L << i;
+            }
+        }
+
+        void clear() {
+            for (int i = 0; i < used; i++) {
+                masks[usedSlots[i]] = 0L;
+            }
+            used = 0;
+        }
+
+        long get(char c) {
+            int slot = c & (SLOTS - 1);
+            while (masks[slot] != 0L) {
+                if (characters[slot] == c) {
+                    return masks[slot];
+                }
+                slot = (slot + 1) & (SLOTS - 1);
+            }
+            return 0L;
+        }
+    }
+
+    /**
+     * Working buffers of a thread.
+     */
+    private static final class Buffers {
+        private final PatternMasks masks = new PatternMasks();
+        private final int[][] rows = {new int[0], new int[0]};
+
+        int[] getRow(int index, int length) {
+            if (rows[index].length < length) {
+                rows[index] = new int[Math.max(length, rows[index].length * 2)];
+            }
+            return rows[index];
+        }
+    }
+}
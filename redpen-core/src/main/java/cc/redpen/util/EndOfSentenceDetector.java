@@ -18,9 +18,10 @@
 package cc.redpen.util;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Set;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -30,8 +31,8 @@ import java.util.regex.Pattern;
 public final class EndOfSentenceDetector {
 
 
-    private List<String> whiteList;
-    private Pattern pattern;
+    private WordPositionMatcher whiteWordMatcher;
+    private Function<CharSequence, TerminatorMatcher> terminators;
 
     /**
      * Constructor.
@@ -39,8 +40,7 @@ public final class EndOfSentenceDetector {
      * @param pattern end of sentence regex pattern
      */
     public EndOfSentenceDetector(Pattern pattern) {
-        this.pattern = pattern;
-        this.whiteList = new ArrayList<>();
+        this(pattern, new ArrayList<>());
     }
 
     /**
@@ -51,12 +51,34 @@ public final class EndOfSentenceDetector {
      */
     public EndOfSentenceDetector(Pattern pattern,
                                  List<String> whiteList) {
-        this.pattern = pattern;
-        this.whiteList = whiteList;
+        this.terminators = str -> new RegexTerminatorMatcher(pattern.matcher(str));
+        this.whiteWordMatcher = new WordPositionMatcher(whiteList);
     }
 
-    private static boolean checkPosition(int position, String str) {
-        return -1 < position && position < str.length() - 1;
+    /**
+     * Constructor. The end of sentence is one of the full stops optionally followed by one of
+     * the right quotations, which is looked up in character tables without regular expressions.
+     *
+     * @param fullStops       end of sentence characters
+     * @param rightQuotations right quotation characters which can follow a full stop
+     * @param whiteList       word containing periods
+     */
+    public EndOfSentenceDetector(char[] fullStops, char[] rightQuotations,
+                                 List<String> whiteList) {
+        BitSet fullStopTable = new BitSet(Character.MAX_VALUE + 1);
+        for (char fullStop : fullStops) {
+            fullStopTable.set(fullStop);
+        }
+        BitSet rightQuotationTable = new BitSet(Character.MAX_VALUE + 1);
+        for (char rightQuotation : rightQuotations) {
+            rightQuotationTable.set(rightQuotation);
+        }
+        this.terminators = str -> new TableTerminatorMatcher(str, fullStopTable, rightQuotationTable);
+        this.whiteWordMatcher = new WordPositionMatcher(whiteList);
+    }
+
+    private static boolean checkPosition(int position, int end) {
+        return -1 < position && position < end - 1;
     }
 
     /**
@@ -66,33 +88,77 @@ public final class EndOfSentenceDetector {
      * @return position of full stop when there is a full stop, -1 otherwise
      */
     public int getSentenceEndPosition(String str) {
-        Set<Integer> nonEndOfSentencePositions =
-                extractNonEndOfSentencePositions(str);
-        return getEndPosition(str, 0, nonEndOfSentencePositions);
+        BitSet nonEndOfSentencePositions =
+                extractNonEndOfSentencePositions(str, 0, str.length());
+        return getEndPosition(terminators.apply(str), str, 0, str.length(), nonEndOfSentencePositions);
+    }
+
+    /**
+     * Get sentence end position in the given range.
+     *
+     * @param str   input string
+     * @param start start of the range (inclusive)
+     * @param end   end of the range (exclusive)
+     * @return position of full stop in str when there is a full stop, -1 otherwise
+     */
+    public int getSentenceEndPosition(CharSequence str, int start, int end) {
+        BitSet nonEndOfSentencePositions =
+                extractNonEndOfSentencePositions(str, start, end);
+        return getEndPosition(terminators.apply(str), str, start, end, nonEndOfSentencePositions);
+    }
+
+    /**
+     * Get the end positions of all the sentences in the given range in one scan.
+     * The positions are the same as the ones obtained by calling {@link #getSentenceEndPosition(String)}
+     * again and again for the rest of the string after each sentence, without creating the substrings.
+     *
+     * @param str   input string
+     * @param start start of the range (inclusive)
+     * @param end   end of the range (exclusive)
+     * @return positions of full stops in str, empty when there is no full stop
+     */
+    public int[] getSentenceEndPositions(CharSequence str, int start, int end) {
+        BitSet nonEndOfSentencePositions =
+                extractNonEndOfSentencePositions(str, start, end);
+        TerminatorMatcher matcher = terminators.apply(str);
+        int[] positions = new int[8];
+        int size = 0;
+        int offset = start;
+        while (offset < end) {
+            int position = getEndPosition(matcher, str, offset, end, nonEndOfSentencePositions);
+            if (position == -1) {
+                break;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+            offset = position + 1;
+        }
+        return Arrays.copyOf(positions, size);
     }
 
-    private int getEndPosition(String str,
-                               int offset, Set<Integer> whitePositions) {
+    private int getEndPosition(TerminatorMatcher matcher, CharSequence str, int offset,
+                               int end, BitSet whitePositions) {
         int startPosition = -1;
         int endPosition = -1;
-        Matcher matcher = pattern.matcher(str);
-        boolean matchResult = getEndPositionSkippingWhiteList(offset,
+        boolean matchResult = getEndPositionSkippingWhiteList(offset, end,
                 matcher, whitePositions);
         if (matchResult) {
             startPosition = matcher.start();
             endPosition = matcher.end();
         }
 
-        if (checkPosition(endPosition - 1, str)) {
+        if (checkPosition(endPosition - 1, end)) {
             if ((StringUtils.isBasicLatin(str.charAt(startPosition))
                     && (' ' == str.charAt(endPosition)
                     || '\n' == str.charAt(endPosition)))) {
                 return endPosition - 1;
             }
-            return handleSuccessivePeriods(str, endPosition - 1, whitePositions);
+            return handleSuccessivePeriods(matcher, str, endPosition - 1, end, whitePositions);
         }
 
-        if (endPosition == str.length()) {
+        if (endPosition == end) {
             // NOTE: period in end of sentence should be the end of the sentence
             // even if there is NO tailing whitespace.
             return endPosition - 1;
@@ -100,21 +166,16 @@ public final class EndOfSentenceDetector {
         return -1;
     }
 
-    private boolean getEndPositionSkippingWhiteList(int offset,
-                                                    Matcher matcher, Set<Integer> whitePositions) {
-        boolean result = matcher.find(offset);
+    private boolean getEndPositionSkippingWhiteList(int offset, int end,
+                                                    TerminatorMatcher matcher, BitSet whitePositions) {
+        boolean result = matcher.find(offset, end);
         while (result) {
             int startPosition = matcher.start();
             int endPosition = matcher.end();
-            boolean containsWhite = false;
-            for (int i = startPosition; i < endPosition; i++) {
-                if (whitePositions.contains(i)) {
-                    containsWhite = true;
-                    break;
-                }
-            }
+            int whitePosition = whitePositions.nextSetBit(startPosition);
+            boolean containsWhite = whitePosition >= 0 && whitePosition < endPosition;
             if (containsWhite) {
-                result = getEndPositionSkippingWhiteList(endPosition,
+                result = getEndPositionSkippingWhiteList(endPosition, end,
                         matcher, whitePositions);
             } else {
                 break;
@@ -123,34 +184,20 @@ public final class EndOfSentenceDetector {
         return result;
     }
 
-    // TODO: efficient computing with common prefix search.
-    private Set<Integer> extractNonEndOfSentencePositions(
-            String inputString) {
-        Set<Integer> nonEndOfSentencePositions = new HashSet<>();
-        for (String whiteWord : this.whiteList) {
-            int offset = 0;
-            while (true) {
-                int matchStartPosition = inputString.indexOf(whiteWord, offset);
-                int matchEndPosition = matchStartPosition + whiteWord.length();
-                if (matchStartPosition == -1) {
-                    break;
-                }
-                for (int i = matchStartPosition;
-                     i < matchEndPosition; i++) {
-                    nonEndOfSentencePositions.add(i);
-                }
-                offset = matchEndPosition;
-            }
-        }
-        return nonEndOfSentencePositions;
+    /**
+     * Get the positions covered by the white words, which are scanned
+     * at once regardless of the number of white words.
+     */
+    private BitSet extractNonEndOfSentencePositions(
+            CharSequence inputString, int start, int end) {
+        return whiteWordMatcher.match(inputString, start, end);
     }
 
-    private int handleSuccessivePeriods(String str,
-                                        int position, Set<Integer> whitePositions) {
+    private int handleSuccessivePeriods(TerminatorMatcher matcher, CharSequence str,
+                                        int position, int end, BitSet whitePositions) {
         int nextPosition = position + 1;
-        Matcher matcher = this.pattern.matcher(str);
         int matchPosition = -1;
-        if (matcher.find(nextPosition)) {
+        if (matcher.find(nextPosition, end)) {
             matchPosition = matcher.start();
         }
 
@@ -164,22 +211,107 @@ public final class EndOfSentenceDetector {
 
         if (matchPosition == nextPosition) {
             // NOTE: handling of period in succession
-            if ((position + 1) == str.length() - 1) {
+            if ((position + 1) == end - 1) {
                 return nextPosition;
             } else {
-                return getEndPosition(str, nextPosition, whitePositions);
+                return getEndPosition(matcher, str, nextPosition, end, whitePositions);
             }
         } else {
-            return getEndPosition(str, nextPosition, whitePositions);
+            return getEndPosition(matcher, str, nextPosition, end, whitePositions);
         }
     }
 
-    private boolean isNonAlphabetEndOfSentenceWithPartialSentence(String str, int position, int matchPosition) {
+    private boolean isNonAlphabetEndOfSentenceWithPartialSentence(CharSequence str, int position, int matchPosition) {
         return (matchPosition == -1 && (!StringUtils.isBasicLatin(str.charAt(position))));
     }
 
-    private boolean isNonAlphabetWithoutSucessiveEnd(String str, int nextPosition, int matchPosition) {
+    private boolean isNonAlphabetWithoutSucessiveEnd(CharSequence str, int nextPosition, int matchPosition) {
         return matchPosition > -1 && (!StringUtils.isBasicLatin(str.charAt(matchPosition)))
                 && matchPosition != nextPosition;
     }
+
+    /**
+     * Finds the end of sentence characters.
+     */
+    private interface TerminatorMatcher {
+        /**
+         * Find the first end of sentence in the range.
+         *
+         * @return true when found
+         */
+        boolean find(int start, int end);
+
+        /**
+         * @return start position of the end of sentence found
+         */
+        int start();
+
+        /**
+         * @return end position (exclusive) of the end of sentence found
+         */
+        int end();
+    }
+
+    private static final class RegexTerminatorMatcher implements TerminatorMatcher {
+        private final Matcher matcher;
+
+        RegexTerminatorMatcher(Matcher matcher) {
+            this.matcher = matcher;
+        }
+
+        @Override
+        public boolean find(int start, int end) {
+            return matcher.region(start, end).find();
+        }
+
+        @Override
+        public int start() {
+            return matcher.start();
+        }
+
+        @Override
+        public int end() {
+            return matcher.end();
+        }
+    }
+
+    /**
+     * Same as the regex made of the alternation of full stops followed by a right quotation and
+     * then of full stops alone: the leftmost full stop, including the right quotation just after it.
+     */
+    private static final class TableTerminatorMatcher implements TerminatorMatcher {
+        private final CharSequence str;
+        private final BitSet fullStops;
+        private final BitSet rightQuotations;
+        private int start = -1;
+        private int end = -1;
+
+        TableTerminatorMatcher(CharSequence str, BitSet fullStops, BitSet rightQuotations) {
+            this.str = str;
+            this.fullStops = fullStops;
+            this.rightQuotations = rightQuotations;
+        }
+
+        @Override
+        public boolean find(int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (fullStops.get(str.charAt(i))) {
+                    this.start = i;
+                    this.end = i + 1 < end && rightQuotations.get(str.charAt(i + 1)) ? i + 2 : i + 1;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int start() {
+            return start;
+        }
+
+        @Override
+        public int end() {
+            return end;
+        }
+    }
 }
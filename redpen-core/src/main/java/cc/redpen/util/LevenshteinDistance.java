@@ -24,6 +24,9 @@ package cc.redpen.util;
  * of single-character edits (i.e. insertions, deletions
  * or substitutions). The default cost for each edit
  * is 1, and each value is configurable.
+ * <p>
+ * The costs are shared by the whole process. Use {@link EditDistance}
+ * to have costs of your own.
  */
 public final class LevenshteinDistance {
     /**
@@ -41,15 +44,8 @@ public final class LevenshteinDistance {
      */
     public static final int DEFAULT_SUBSTITUTION_COST = 1;
 
-    private static int INSERTION_COST;
-    private static int DELETION_COST;
-    private static int SUBSTITUTION_COST;
-
-    static {
-        INSERTION_COST = DEFAULT_INSERTION_COST;
-        DELETION_COST = DEFAULT_DELETION_COST;
-        SUBSTITUTION_COST = DEFAULT_SUBSTITUTION_COST;
-    }
+    private static volatile EditDistance EDIT_DISTANCE = new EditDistance(
+            DEFAULT_INSERTION_COST, DEFAULT_DELETION_COST, DEFAULT_SUBSTITUTION_COST);
 
     /**
      * Default Constructor.
@@ -63,7 +59,7 @@ public final class LevenshteinDistance {
      * @return the cost for "insertion"
      */
     public static int getInsertionCost() {
-        return INSERTION_COST;
+        return EDIT_DISTANCE.getInsertionCost();
     }
 
     /**
@@ -72,7 +68,7 @@ public final class LevenshteinDistance {
      * @param cost a cost for "insertion"
      */
     public static synchronized void setInsertionCost(int cost) {
-        INSERTION_COST = cost;
+        EDIT_DISTANCE = new EditDistance(cost, getDeletionCost(), getSubstitutionCost());
     }
 
     /**
@@ -81,7 +77,7 @@ public final class LevenshteinDistance {
      * @return the cost for "deletion"
      */
     public static int getDeletionCost() {
-        return DELETION_COST;
+        return EDIT_DISTANCE.getDeletionCost();
     }
 
     /**
@@ -90,7 +86,7 @@ public final class LevenshteinDistance {
      * @param cost a cost for "deletio"
      */
     public static synchronized void setDeletionCost(int cost) {
-        DELETION_COST = cost;
+        EDIT_DISTANCE = new EditDistance(getInsertionCost(), cost, getSubstitutionCost());
     }
 
     /**
@@ -99,7 +95,7 @@ public final class LevenshteinDistance {
      * @return the cost for "substitution"
      */
     public static int getSubstitutionCost() {
-        return SUBSTITUTION_COST;
+        return EDIT_DISTANCE.getSubstitutionCost();
     }
 
     /**
@@ -108,7 +104,7 @@ public final class LevenshteinDistance {
      * @param cost a cost for "substitution"
      */
     public static synchronized void setSubstitutionCost(int cost) {
-        SUBSTITUTION_COST = cost;
+        EDIT_DISTANCE = new EditDistance(getInsertionCost(), getDeletionCost(), cost);
     }
 
     /**
@@ -120,41 +116,16 @@ public final class LevenshteinDistance {
      * @see http://en.wikipedia.org/wiki/Levenshtein_distance.
      */
     public static int getDistance(CharSequence a, CharSequence b) {
+        EditDistance editDistance = EDIT_DISTANCE;
         if (a == null && b == null) {
             return 0;
         }
         if (a == null && b != null) {
-            return b.length() * INSERTION_COST;
+            return b.length() * editDistance.getInsertionCost();
         }
         if (a != null && b == null) {
-            return a.length() * INSERTION_COST;
-        }
-
-        final int lengthA = a.length();
-        final int lengthB = b.length();
-        int[][] distance = new int[lengthA + 1][lengthB + 1];
-
-        // Initialization
-        for (int i = 0; i < lengthA + 1; i++) {
-            distance[i][0] = i * DELETION_COST;
-        }
-        for (int j = 0; j < lengthB + 1; j++) {
-            distance[0][j] = j * INSERTION_COST;
+            return a.length() * editDistance.getInsertionCost();
         }
-
-        for (int i = 1; i < lengthA + 1; i++) {
-            for (int j = 1; j < lengthB + 1; j++) {
-                if (a.charAt(i - 1) == b.charAt(j - 1)) {
-                    distance[i][j] = distance[i - 1][j - 1];
-                } else {
-                    distance[i][j] = Math.min(Math.min(
-                                    distance[i - 1][j] + DELETION_COST,
-                                    distance[i][j - 1] + INSERTION_COST),
-                            distance[i - 1][j - 1] + SUBSTITUTION_COST);
-                }
-            }
-        }
-
-        return distance[lengthA][lengthB];
+        return editDistance.distance(a, b);
     }
 }
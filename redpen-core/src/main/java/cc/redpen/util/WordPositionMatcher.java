@@ -0,0 +1,203 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton which finds the positions covered by any of the given words in one pass.
+ * <p>
+ * Occurrences of one word are matched from the left without overlapping each other, as repeating
+ * {@link String#indexOf(String, int)} from the end of the previous occurrence does, while occurrences
+ * of different words may overlap.
+ */
+final class WordPositionMatcher {
+    private static final int ROOT = 0;
+
+    // transitions of each state, labels are sorted for binary search
+    private final char[][] labels;
+    private final int[][] targets;
+    private final int[] failure;
+    // the word ending at each state, -1 when no word ends there
+    private final int[] wordAt;
+    // the nearest state on the failure chain where a word ends, ROOT when there is none
+    private final int[] outputLink;
+    private final int[] wordLengths;
+    // index in the last match table for the words which can overlap themselves, -1 otherwise
+    private final int[] overlapSlots;
+    private final int overlapSlotCount;
+
+    WordPositionMatcher(List<String> words) {
+        Set<String> uniqueWords = new LinkedHashSet<>();
+        for (String word : words) {
+            if (word != null && !word.isEmpty()) {
+                uniqueWords.add(word);
+            }
+        }
+
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> wordAtList = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        wordAtList.add(-1);
+        wordLengths = new int[uniqueWords.size()];
+        overlapSlots = new int[uniqueWords.size()];
+        int slots = 0;
+        int wordIndex = 0;
+        for (String word : uniqueWords) {
+            int state = ROOT;
+            for (int i = 0; i < word.length(); i++) {
+                Integer next = trie.get(state).get(word.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(state).put(word.charAt(i), next);
+                    trie.add(new TreeMap<>());
+                    wordAtList.add(-1);
+                }
+                state = next;
+            }
+            wordAtList.set(state, wordIndex);
+            wordLengths[wordIndex] = word.length();
+            overlapSlots[wordIndex] = hasBorder(word) ? slots++ : -1;
+            wordIndex++;
+        }
+        overlapSlotCount = slots;
+
+        int size = trie.size();
+        labels = new char[size][];
+        targets = new int[size][];
+        wordAt = new int[size];
+        for (int state = 0; state < size; state++) {
+            Map<Character, Integer> transitions = trie.get(state);
+            labels[state] = new char[transitions.size()];
+            targets[state] = new int[transitions.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> transition : transitions.entrySet()) {
+                labels[state][i] = transition.getKey();
+                targets[state][i] = transition.getValue();
+                i++;
+            }
+            wordAt[state] = wordAtList.get(state);
+        }
+
+        failure = new int[size];
+        outputLink = new int[size];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[ROOT]) {
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < labels[state].length; i++) {
+                int child = targets[state][i];
+                int fallback = next(failure[state], labels[state][i]);
+                failure[child] = fallback;
+                outputLink[child] = wordAt[fallback] >= 0 ? fallback : outputLink[fallback];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the word has a proper prefix which is also its suffix,
+     * that is, whether two occurrences of the word can overlap.
+     */
+    private static boolean hasBorder(String word) {
+        int[] border = new int[word.length()];
+        for (int i = 1; i < word.length(); i++) {
+            int k = border[i - 1];
+            while (k > 0 && word.charAt(i) != word.charAt(k)) {
+                k = border[k - 1];
+            }
+            if (word.charAt(i) == word.charAt(k)) {
+                k++;
+            }
+            border[i] = k;
+        }
+        return border[word.length() - 1] > 0;
+    }
+
+    private int transition(int state, char c) {
+        int index = Arrays.binarySearch(labels[state], c);
+        return index >= 0 ? targets[state][index] : -1;
+    }
+
+    private int next(int state, char c) {
+        int target;
+        while ((target = transition(state, c)) < 0) {
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = failure[state];
+        }
+        return target;
+    }
+
+    /**
+     * Get the positions covered by the words.
+     *
+     * @param str input string
+     * @return positions of the characters in the occurrences of the words
+     */
+    BitSet match(CharSequence str) {
+        return match(str, 0, str.length());
+    }
+
+    /**
+     * Get the positions covered by the words in the given range.
+     *
+     * @param str   input string
+     * @param start start of the range (inclusive)
+     * @param end   end of the range (exclusive)
+     * @return positions of the characters in the occurrences of the words, which are indices in str
+     */
+    BitSet match(CharSequence str, int start, int end) {
+        BitSet positions = new BitSet(end);
+        if (labels[ROOT].length == 0) {
+            return positions;
+        }
+        int[] lastEnds = overlapSlotCount > 0 ? new int[overlapSlotCount] : null;
+        int state = ROOT;
+        for (int i = start; i < end; i++) {
+            state = next(state, str.charAt(i));
+            int output = wordAt[state] >= 0 ? state : outputLink[state];
+            while (output != ROOT) {
+                int word = wordAt[output];
+                int wordEnd = i + 1;
+                int wordStart = wordEnd - wordLengths[word];
+                int slot = overlapSlots[word];
+                if (slot < 0 || lastEnds[slot] <= wordStart) {
+                    positions.set(wordStart, wordEnd);
+                    if (slot >= 0) {
+                        lastEnds[slot] = wordEnd;
+                    }
+                }
+                output = outputLink[output];
+            }
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,237 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Trie of words for finding the words within a Levenshtein distance from a given word.
+ * <p>
+ * A search walks the trie depth first, computing one row of the edit distance matrix per node
+ * from the row of its parent. A branch is skipped as soon as every value in its row exceeds the distance,
+ * thus only a small part of the trie is visited for a small distance.
+ * <p>
+ * The children of a node are stored next to each other in sorted order, and the trie is kept in arrays.
+ * A trie is immutable and can be searched from multiple threads.
+ */
+public final class WordTrie {
+    private static final int TERMINAL = 0x80000000;
+
+    private final char[] labels;
+    private final int[] firstChild;
+    // number of children, with TERMINAL set for the nodes which end words
+    private final int[] childCounts;
+    private final int size;
+    private final int maxLength;
+
+    /**
+     * Constructor.
+     *
+     * @param words words to store
+     */
+    public WordTrie(Collection<String> words) {
+        String[] sorted = words.toArray(new String[words.size()]);
+        Arrays.sort(sorted);
+        int nodes = 1;
+        int size = 0;
+        int maxLength = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i > 0 && sorted[i].equals(sorted[i - 1])) {
+                continue;
+            }
+            nodes += sorted[i].length() - (i > 0 ? commonPrefixLength(sorted[i - 1], sorted[i]) : 0);
+            maxLength = Math.max(maxLength, sorted[i].length());
+            size++;
+        }
+        this.labels = new char[nodes];
+        this.firstChild = new int[nodes];
+        this.childCounts = new int[nodes];
+        this.size = size;
+        this.maxLength = maxLength;
+
+        // nodes are added breadth first, each node covering a range of the sorted words
+        int[] from = new int[nodes];
+        int[] to = new int[nodes];
+        int[] depths = new int[nodes];
+        to[0] = sorted.length;
+        int added = 1;
+        for (int node = 0; node < nodes; node++) {
+            int depth = depths[node];
+            int start = from[node];
+            int end = to[node];
+            while (start < end && sorted[start].length() == depth) {
+                childCounts[node] = TERMINAL;
+                start++;
+            }
+            firstChild[node] = added;
+            while (start < end) {
+                char label = sorted[start].charAt(depth);
+                int next = start + 1;
+                while (next < end && sorted[next].charAt(depth) == label) {
+                    next++;
+                }
+                labels[added] = label;
+                from[added] = start;
+                to[added] = next;
+                depths[added] = depth + 1;
+                added++;
+                childCounts[node]++;
+                start = next;
+            }
+        }
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Get the number of words in the trie.
+     *
+     * @return the number of words
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Find the words nearest to the given word within an edit distance.
+     * The words are ordered by the distance, and alphabetically in the same distance.
+     *
+     * @param word        word to search
+     * @param maxDistance maximum edit distance
+     * @param limit       maximum number of words to return
+     * @return words within the distance, the nearest first
+     */
+    public List<String> search(String word, int maxDistance, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        Search search = new Search(word, maxDistance, limit);
+        if ((childCounts[0] & TERMINAL) != 0 && word.length() <= maxDistance) {
+            search.addMatch("", word.length());
+        }
+        search(0, 1, search);
+        return search.getWords();
+    }
+
+    private void search(int node, int depth, Search search) {
+        char[] word = search.word;
+        int first = firstChild[node];
+        int last = first + (childCounts[node] & ~TERMINAL);
+        if (first == last) {
+            return;
+        }
+        int[] previous = search.rows[depth - 1];
+        int[] current = search.rows[depth];
+        for (int child = first; child < last; child++) {
+            // the distance shrinks while enough matches are found
+            int maxDistance = search.maxDistance;
+            if (depth > word.length + maxDistance) {
+                return;
+            }
+            // only the cells within maxDistance from the diagonal can be within the distance,
+            // and the cells around the band are filled with a value over the distance
+            int bound = maxDistance + 1;
+            int low = Math.max(1, depth - maxDistance);
+            int high = Math.min(word.length, depth + maxDistance);
+            char label = labels[child];
+            search.prefix[depth - 1] = label;
+            int left = low == 1 ? depth : bound;
+            current[low - 1] = left;
+            int rowMin = left;
+            for (int j = low; j <= high; j++) {
+                int value = previous[j - 1] + (label == word[j - 1] ? 0 : 1);
+                value = Math.min(value, Math.min(left, previous[j]) + 1);
+                current[j] = value;
+                left = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (high < word.length) {
+                current[high + 1] = bound;
+            }
+            if ((childCounts[child] & TERMINAL) != 0 && high == word.length && current[high] <= maxDistance) {
+                search.addMatch(new String(search.prefix, 0, depth), current[high]);
+            }
+            if (rowMin <= maxDistance) {
+                search(child, depth + 1, search);
+            }
+        }
+    }
+
+    /**
+     * State of a search. Matches are found in alphabetical order, thus once there are enough matches
+     * within a distance, words at the same or larger distance cannot be in the result.
+     */
+    private final class Search {
+        private final char[] word;
+        private final int limit;
+        private final int[][] rows;
+        private final char[] prefix;
+        private final List<String>[] matches;
+        private int maxDistance;
+
+        @SuppressWarnings("unchecked")
+        Search(String word, int maxDistance, int limit) {
+            this.word = word.toCharArray();
+            this.limit = limit;
+            this.maxDistance = maxDistance;
+            this.rows = new int[maxLength + 1][this.word.length + 1];
+            for (int j = 0; j <= this.word.length; j++) {
+                rows[0][j] = j;
+            }
+            this.prefix = new char[maxLength];
+            this.matches = new List[maxDistance + 1];
+            for (int i = 0; i <= maxDistance; i++) {
+                matches[i] = new ArrayList<>();
+            }
+        }
+
+        void addMatch(String match, int distance) {
+            matches[distance].add(match);
+            int count = 0;
+            for (int i = 0; i <= maxDistance; i++) {
+                count += matches[i].size();
+                if (count >= limit) {
+                    maxDistance = i - 1;
+                    return;
+                }
+            }
+        }
+
+        List<String> getWords() {
+            List<String> words = new ArrayList<>();
+            for (List<String> sameDistance : matches) {
+                for (String match : sameDistance) {
+                    if (words.size() < limit) {
+                        words.add(match);
+                    }
+                }
+            }
+            return words;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.validator;
+
+import cc.redpen.model.Document;
+
+/**
+ * Receives validation errors as soon as RedPen reports them.
+ */
+@FunctionalInterface
+public interface ValidationErrorListener {
+    /**
+     * Called for each validation error found in a document.
+     *
+     * @param document document containing the error
+     * @param error    validation error
+     */
+    void onError(Document document, ValidationError error);
+
+    /**
+     * Called for each document before it is validated, so that documents without errors are reported as well.
+     *
+     * @param document document to validate
+     */
+    default void onDocument(Document document) {
+    }
+}
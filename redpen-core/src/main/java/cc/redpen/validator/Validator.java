@@ -33,7 +33,7 @@ import java.util.*;
 /**
  * Validate input document.
  */
-public abstract class Validator {
+public abstract class Validator implements Cloneable {
     private static final Logger LOG =
             LoggerFactory.getLogger(Validator.class);
     private final static ResourceBundle.Control fallbackControl =
@@ -41,6 +41,7 @@ public abstract class Validator {
     private Optional<ResourceBundle> errorMessages = Optional.empty();
     private ValidatorConfiguration config;
     private SymbolTable symbolTable;
+    private int maxErrors = Integer.MAX_VALUE;
 
     public Validator() {
         setLocale(Locale.getDefault());
@@ -94,9 +95,72 @@ public abstract class Validator {
     public void validate(List<ValidationError> errors, Section section) {
     }
 
+    /**
+     * Returns the maximum number of errors this validator reports for a document, which is
+     * configured by the "max_errors" property. Errors beyond the maximum are dropped and the validator
+     * is not called for the rest of the document.
+     *
+     * @return maximum number of errors in a document
+     */
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+
+    /**
+     * Returns whether the result of this validator depends on the order of the validated documents.
+     * Validators which learn from the sentences or sections seen in the validate methods should return true,
+     * so that they are applied to documents one after another even when documents are validated in parallel.
+     * State collected in preValidate methods does not count since pre-validation always precedes validation.
+     *
+     * @return true when the validate methods update state shared between documents
+     */
+    public boolean isOrderSensitive() {
+        return false;
+    }
+
+    /**
+     * Returns the validator used in a single validation run.
+     * <p>
+     * The default implementation returns this validator, which is enough for validators without state
+     * collected from the validated documents. Validators keeping such state override this method to
+     * return a {@link #copy()} with fresh state, sharing the configuration and dictionaries with this validator.
+     * Thus one validator instance can serve concurrent runs and runs do not see each other's state.
+     *
+     * @return validator for a validation run
+     */
+    public Validator forRun() {
+        return this;
+    }
+
+    /**
+     * Returns a shallow copy of this validator. Configuration, symbol table and dictionaries are shared.
+     *
+     * @return copy of this validator
+     */
+    protected Validator copy() {
+        try {
+            return (Validator) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
     final void preInit(ValidatorConfiguration config, SymbolTable symbolTable) throws RedPenException {
         this.config = config;
         this.symbolTable = symbolTable;
+        if (config != null && config.getAttribute("max_errors") != null) {
+            String value = config.getAttribute("max_errors");
+            try {
+                this.maxErrors = Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new RedPenException("max_errors of " + config.getConfigurationName()
+                        + " is not a number: " + value, e);
+            }
+            if (maxErrors < 0) {
+                throw new RedPenException("max_errors of " + config.getConfigurationName()
+                        + " must not be negative: " + value);
+            }
+        }
         init();
     }
 
@@ -99,6 +99,13 @@ final public class DuplicatedSectionValidator extends Validator {
         }
     }
 
+    @Override
+    public Validator forRun() {
+        DuplicatedSectionValidator validator = (DuplicatedSectionValidator) copy();
+        validator.sectionVectors = new ArrayList<>();
+        return validator;
+    }
+
     @Override
     protected void init() throws RedPenException {
         this.threhold = getConfigAttributeAsDouble("threshold", DEFAULT_SIMILARITY_THRESHOLD);
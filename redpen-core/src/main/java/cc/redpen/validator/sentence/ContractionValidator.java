@@ -145,6 +145,14 @@ final public class ContractionValidator extends Validator {
         }
     }
 
+    @Override
+    public Validator forRun() {
+        ContractionValidator validator = (ContractionValidator) copy();
+        validator.foundContractionNum = 0;
+        validator.foundNonContractionNum = 0;
+        return validator;
+    }
+
     @Override
     public String toString() {
         return "ContractionValidator{" +
@@ -20,13 +20,13 @@ package cc.redpen.validator.sentence;
 import cc.redpen.RedPenException;
 import cc.redpen.model.Sentence;
 import cc.redpen.tokenizer.TokenElement;
-import cc.redpen.util.WordListExtractor;
+import cc.redpen.util.DictionaryRegistry;
 import cc.redpen.validator.ValidationError;
 import cc.redpen.validator.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.util.*;
 
@@ -39,6 +39,9 @@ final public class DoubledWordValidator extends Validator {
         this.skipList = new HashSet<>();
     }
 
+    // default and user dictionaries are shared by all the validators through DictionaryRegistry
+    private Set<String> defaultDictionary = Collections.emptySet();
+    private Set<String> userDictionary = Collections.emptySet();
     private Set<String> skipList;
 
     @Override
@@ -46,23 +49,26 @@ final public class DoubledWordValidator extends Validator {
         Set<String> surfaces = new HashSet<>();
         for (TokenElement token : sentence.getTokens()) {
             String currentSurface = token.getSurface();
-            if (surfaces.contains(currentSurface) && !skipList.contains(currentSurface.toLowerCase())) {
+            if (surfaces.contains(currentSurface) && !isSkipped(currentSurface.toLowerCase())) {
                 errors.add(createValidationError(sentence, currentSurface));
             }
             surfaces.add(currentSurface);
         }
     }
 
+    private boolean isSkipped(String word) {
+        return defaultDictionary.contains(word) || userDictionary.contains(word) || skipList.contains(word);
+    }
+
     @Override
     protected void init() throws RedPenException {
         String lang = getSymbolTable().getLang();
-        WordListExtractor extractor = new WordListExtractor();
         LOG.info("Loading default doubled word skip list dictionary for " +
                 "\"" + lang + "\".");
         String defaultDictionaryFile = DEFAULT_RESOURCE_PATH
                 + "/doubled-word-skiplist-" + lang + ".dat";
         try {
-            extractor.loadFromResource(defaultDictionaryFile);
+            defaultDictionary = DictionaryRegistry.getWordListFromResource(defaultDictionaryFile, false);
         } catch (IOException e) {
             LOG.error("Failed to load default dictionary.");
             LOG.error("DoubledWordValidator does not support dictionary for "
@@ -83,14 +89,13 @@ final public class DoubledWordValidator extends Validator {
         confFile.ifPresent(f -> {
             LOG.info("user dictionary file is " + f);
             try {
-                extractor.load(new FileInputStream(f));
+                userDictionary = DictionaryRegistry.getWordList(new File(f), false);
             } catch (IOException e) {
                 LOG.error("Failed to load user dictionary.");
                 return;
             }
             LOG.info("Succeeded to load specified user dictionary.");
         });
-        skipList.addAll(extractor.get());
     }
 
     @Override
@@ -107,6 +112,8 @@ final public class DoubledWordValidator extends Validator {
 
         DoubledWordValidator that = (DoubledWordValidator) o;
 
+        if (!defaultDictionary.equals(that.defaultDictionary)) return false;
+        if (!userDictionary.equals(that.userDictionary)) return false;
         if (skipList != null ? !skipList.equals(that.skipList) : that.skipList != null) return false;
 
         return true;
@@ -114,6 +121,9 @@ final public class DoubledWordValidator extends Validator {
 
     @Override
     public int hashCode() {
-        return skipList != null ? skipList.hashCode() : 0;
+        int result = skipList != null ? skipList.hashCode() : 0;
+        result = 31 * result + userDictionary.hashCode();
+        result = 31 * result + defaultDictionary.hashCode();
+        return result;
     }
 }
@@ -19,16 +19,15 @@ package cc.redpen.validator.sentence;
 
 import cc.redpen.RedPenException;
 import cc.redpen.model.Sentence;
-import cc.redpen.util.WordListExtractor;
+import cc.redpen.util.DictionaryRegistry;
 import cc.redpen.validator.ValidationError;
 import cc.redpen.validator.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Validate input sentences contain invalid expression.
@@ -37,13 +36,21 @@ final public class InvalidExpressionValidator extends Validator {
     private static final String DEFAULT_RESOURCE_PATH = "default-resources/invalid-expression";
     private static final Logger LOG =
             LoggerFactory.getLogger(InvalidExpressionValidator.class);
+    // default and user dictionaries are shared by all the validators through DictionaryRegistry
+    private Set<String> defaultDictionary = Collections.emptySet();
+    private Set<String> userDictionary = Collections.emptySet();
     private Set<String> invalidExpressions = new HashSet<>();
+    // distinct expressions of all the lists, merged when the lists change rather than per sentence
+    private String[] expressions = new String[0];
 
     @Override
     public void validate(List<ValidationError> errors, Sentence sentence) {
         String str = sentence.getContent();
-        errors.addAll(invalidExpressions.stream().filter(str::contains)
-                .map(w -> createValidationError(sentence, w)).collect(Collectors.toList()));
+        for (String expression : expressions) {
+            if (str.contains(expression)) {
+                errors.add(createValidationError(sentence, expression));
+            }
+        }
     }
 
     /**
@@ -53,18 +60,25 @@ final public class InvalidExpressionValidator extends Validator {
      */
     public void addInvalid(String invalid) {
         invalidExpressions.add(invalid);
+        mergeExpressions();
+    }
+
+    private void mergeExpressions() {
+        Set<String> merged = new LinkedHashSet<>(defaultDictionary);
+        merged.addAll(userDictionary);
+        merged.addAll(invalidExpressions);
+        expressions = merged.toArray(new String[merged.size()]);
     }
 
     @Override
     protected void init() throws RedPenException {
         String lang = getSymbolTable().getLang();
-        WordListExtractor extractor = new WordListExtractor();
         LOG.info("Loading default invalid expression dictionary for " +
                 "\"" + lang + "\".");
         String defaultDictionaryFile = DEFAULT_RESOURCE_PATH
                 + "/invalid-expression-" + lang + ".dat";
         try {
-            extractor.loadFromResource(defaultDictionaryFile);
+            defaultDictionary = DictionaryRegistry.getWordListFromResource(defaultDictionaryFile, false);
         } catch (IOException e) {
             LOG.error("Failed to load default dictionary.");
             LOG.error("InvalidExpressionValidator does not support dictionary for "
@@ -84,15 +98,14 @@ final public class InvalidExpressionValidator extends Validator {
         confFile.ifPresent(f -> {
             LOG.info("user dictionary file is " + f);
             try {
-                extractor.load(new FileInputStream(f));
+                userDictionary = DictionaryRegistry.getWordList(new File(f), false);
             } catch (IOException e) {
                 LOG.error("Failed to load user dictionary.");
                 return;
             }
             LOG.info("Succeeded to load specified user dictionary.");
         });
-
-        invalidExpressions.addAll(extractor.get());
+        mergeExpressions();
     }
 
     @Override
@@ -109,11 +122,16 @@ final public class InvalidExpressionValidator extends Validator {
 
         InvalidExpressionValidator that = (InvalidExpressionValidator) o;
 
+        if (!defaultDictionary.equals(that.defaultDictionary)) return false;
+        if (!userDictionary.equals(that.userDictionary)) return false;
         return !(invalidExpressions != null ? !invalidExpressions.equals(that.invalidExpressions) : that.invalidExpressions != null);
     }
 
     @Override
     public int hashCode() {
-        return invalidExpressions != null ? invalidExpressions.hashCode() : 0;
+        int result = invalidExpressions != null ? invalidExpressions.hashCode() : 0;
+        result = 31 * result + userDictionary.hashCode();
+        result = 31 * result + defaultDictionary.hashCode();
+        return result;
     }
 }
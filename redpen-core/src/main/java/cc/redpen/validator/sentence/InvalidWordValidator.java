@@ -20,13 +20,13 @@ package cc.redpen.validator.sentence;
 import cc.redpen.RedPenException;
 import cc.redpen.model.Sentence;
 import cc.redpen.tokenizer.TokenElement;
-import cc.redpen.util.WordListExtractor;
+import cc.redpen.util.DictionaryRegistry;
 import cc.redpen.validator.ValidationError;
 import cc.redpen.validator.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.util.*;
 
@@ -38,18 +38,25 @@ final public class InvalidWordValidator extends Validator {
             "default-resources/invalid-word";
     private static final Logger LOG =
             LoggerFactory.getLogger(InvalidWordValidator.class);
+    // default and user dictionaries are shared by all the validators through DictionaryRegistry
+    private Set<String> defaultDictionary = Collections.emptySet();
+    private Set<String> userDictionary = Collections.emptySet();
     private Set<String> invalidWords = new HashSet<>();
 
     @Override
     public void validate(List<ValidationError> errors, Sentence sentence) {
         //NOTE: only Ascii white space since this validator works for european languages.
         for (TokenElement token : sentence.getTokens()) {
-            if (invalidWords.contains(token.getSurface().toLowerCase())) {
+            if (isInvalid(token.getSurface().toLowerCase())) {
                 errors.add(createValidationError(sentence, token.getSurface()));
             }
         }
     }
 
+    private boolean isInvalid(String word) {
+        return defaultDictionary.contains(word) || userDictionary.contains(word) || invalidWords.contains(word);
+    }
+
     /**
      * Add invalid element. This method is used for testing
      *
@@ -62,14 +69,13 @@ final public class InvalidWordValidator extends Validator {
     @Override
     protected void init() throws RedPenException {
         String lang = getSymbolTable().getLang();
-        WordListExtractor extractor = new WordListExtractor();
 
         LOG.info("Loading default invalid word dictionary for " +
                 "\"" + lang + "\".");
         String defaultDictionaryFile = DEFAULT_RESOURCE_PATH
                 + "/invalid-word-" + lang + ".dat";
         try {
-            extractor.loadFromResource(defaultDictionaryFile);
+            defaultDictionary = DictionaryRegistry.getWordListFromResource(defaultDictionaryFile, false);
         } catch (IOException e) {
             LOG.error(e.getMessage());
             LOG.error("Failed to load default dictionary.");
@@ -88,7 +94,7 @@ final public class InvalidWordValidator extends Validator {
         confFile.ifPresent(f -> {
             LOG.info("user dictionary file is " + f);
             try {
-                extractor.load(new FileInputStream(f));
+                userDictionary = DictionaryRegistry.getWordList(new File(f), false);
             } catch (IOException e) {
                 LOG.error(e.getMessage());
                 LOG.error("Failed to load user dictionary.");
@@ -96,8 +102,6 @@ final public class InvalidWordValidator extends Validator {
             }
             LOG.info("Succeeded to load specified user dictionary.");
         });
-
-        invalidWords.addAll(extractor.get());
     }
 
     @Override
@@ -114,6 +118,8 @@ final public class InvalidWordValidator extends Validator {
 
         InvalidWordValidator that = (InvalidWordValidator) o;
 
+        if (!defaultDictionary.equals(that.defaultDictionary)) return false;
+        if (!userDictionary.equals(that.userDictionary)) return false;
         if (invalidWords != null ? !invalidWords.equals(that.invalidWords) : that.invalidWords != null) return false;
 
         return true;
@@ -121,6 +127,9 @@ final public class InvalidWordValidator extends Validator {
 
     @Override
     public int hashCode() {
-        return invalidWords != null ? invalidWords.hashCode() : 0;
+        int result = invalidWords != null ? invalidWords.hashCode() : 0;
+        result = 31 * result + userDictionary.hashCode();
+        result = 31 * result + defaultDictionary.hashCode();
+        return result;
     }
 }
@@ -19,15 +19,15 @@ package cc.redpen.validator.sentence;
 
 import cc.redpen.RedPenException;
 import cc.redpen.model.Sentence;
-import cc.redpen.util.LevenshteinDistance;
+import cc.redpen.util.BKTree;
+import cc.redpen.util.DictionaryRegistry;
 import cc.redpen.util.StringUtils;
-import cc.redpen.util.WordListExtractor;
 import cc.redpen.validator.ValidationError;
 import cc.redpen.validator.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.util.*;
 
@@ -71,13 +71,19 @@ final public class KatakanaSpellCheckValidator extends Validator {
     private static final Logger LOG =
             LoggerFactory.getLogger(KatakanaSpellCheckValidator.class);
     /**
-     * Katakana word dic with line number.
+     * Katakana word dic with line number, learned in the current validation run.
+     * The dic is replaced for each run by {@link #forRun()} so it does not grow over runs.
      */
     private HashMap<String, Integer> dic = new HashMap<>();
     /**
-     * Exception word list.
+     * Index of the words in the dic to find similar words without comparing with every word.
      */
-    private Set<String> exceptions = new HashSet<>();
+    private BKTree vocabulary = new BKTree();
+    /**
+     * Exception word lists, shared by all the validators through DictionaryRegistry.
+     */
+    private Set<String> exceptions = Collections.emptySet();
+    private Set<String> userExceptions = Collections.emptySet();
 
     @Override
     public void validate(List<ValidationError> errors, Sentence sentence) {
@@ -99,32 +105,42 @@ final public class KatakanaSpellCheckValidator extends Validator {
         if (katakana.length() <= MAX_IGNORE_KATAKANA_LENGTH) {
             return;
         }
-        if (dic.containsKey(katakana) || exceptions.contains(katakana)) {
+        if (dic.containsKey(katakana) || exceptions.contains(katakana) || userExceptions.contains(katakana)) {
             return;
         }
         final int minLsDistance = Math.round(katakana.length() * SIMILARITY_RATIO);
-        boolean found = false;
-        List<ValidationError> errors = new ArrayList<>();
-        for (String key : dic.keySet()) {
-            if (LevenshteinDistance.getDistance(key, katakana) <= minLsDistance) {
-                found = true;
-                validationErrors.add(createValidationError(sentence, katakana, key, dic.get(key).toString()));
-            }
+        List<String> similarWords = vocabulary.search(katakana, minLsDistance);
+        for (String key : similarWords) {
+            validationErrors.add(createValidationError(sentence, katakana, key, dic.get(key).toString()));
         }
-        if (!found) {
+        if (similarWords.isEmpty()) {
             dic.put(katakana, sentence.getLineNum());
+            vocabulary.add(katakana);
         }
     }
 
+    @Override
+    public Validator forRun() {
+        KatakanaSpellCheckValidator validator = (KatakanaSpellCheckValidator) copy();
+        validator.dic = new HashMap<>();
+        validator.vocabulary = new BKTree();
+        return validator;
+    }
+
+    @Override
+    public boolean isOrderSensitive() {
+        // katakana words are learned from the preceding sentences
+        return true;
+    }
+
     @Override
     protected void init() throws RedPenException {
-        WordListExtractor extractor = new WordListExtractor();
 
         LOG.info("Loading default katakana word dictionary");
         String defaultDictionaryFile = DEFAULT_RESOURCE_PATH
                 + "/katakana-spellcheck.dat";
         try {
-            extractor.loadFromResource(defaultDictionaryFile);
+            exceptions = DictionaryRegistry.getWordListFromResource(defaultDictionaryFile, false);
             LOG.info("Succeeded to load default dictionary.");
         } catch (IOException e) {
             throw new RedPenException("Failed to load default dictionary.", e);
@@ -134,12 +150,11 @@ final public class KatakanaSpellCheckValidator extends Validator {
         confFile.ifPresent(e -> {
             LOG.info("User dictionary file is " + e);
             try {
-                extractor.load(new FileInputStream(e));
+                userExceptions = DictionaryRegistry.getWordList(new File(e), false);
             } catch (IOException e1) {
                 LOG.error("Failed to load user dictionary");
             }
         });
-        this.exceptions = extractor.get();
 
         //TODO : configurable SIMILARITY_RATIO.
         //TODO : configurable MAX_IGNORE_KATAKANA_LENGTH.
@@ -150,6 +165,7 @@ final public class KatakanaSpellCheckValidator extends Validator {
         return "KatakanaSpellCheckValidator{" +
                 "dic=" + dic +
                 ", exceptions=" + exceptions +
+                ", userExceptions=" + userExceptions +
                 '}';
     }
 
@@ -162,6 +178,7 @@ final public class KatakanaSpellCheckValidator extends Validator {
 
         if (dic != null ? !dic.equals(that.dic) : that.dic != null) return false;
         if (exceptions != null ? !exceptions.equals(that.exceptions) : that.exceptions != null) return false;
+        if (!userExceptions.equals(that.userExceptions)) return false;
 
         return true;
     }
@@ -170,6 +187,7 @@ final public class KatakanaSpellCheckValidator extends Validator {
     public int hashCode() {
         int result = dic != null ? dic.hashCode() : 0;
         result = 31 * result + (exceptions != null ? exceptions.hashCode() : 0);
+        result = 31 * result + userExceptions.hashCode();
         return result;
     }
 }
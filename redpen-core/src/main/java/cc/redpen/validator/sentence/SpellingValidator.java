@@ -3,13 +3,15 @@ package cc.redpen.validator.sentence;
 import cc.redpen.RedPenException;
 import cc.redpen.model.Sentence;
 import cc.redpen.tokenizer.TokenElement;
-import cc.redpen.util.WordListExtractor;
+import cc.redpen.util.DictionaryRegistry;
+import cc.redpen.util.EditDistance;
+import cc.redpen.util.WordTrie;
 import cc.redpen.validator.ValidationError;
 import cc.redpen.validator.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.util.*;
 
@@ -19,21 +21,28 @@ public class SpellingValidator extends Validator {
     private static final Logger LOG =
             LoggerFactory.getLogger(SpellingValidator.class);
     private static String skipCharacters = "+~-(),\".";
-    // TODO: replace more memory efficient data structure
+    private static final int DEFAULT_SUGGESTIONS = 3;
+    private static final int MAX_SUGGESTION_DISTANCE = 2;
+    // default and user dictionaries are packed and shared by all the validators through DictionaryRegistry
+    private Set<String> defaultDictionary = Collections.emptySet();
+    private Set<String> userDictionary = Collections.emptySet();
     private Set<String> validWords = new HashSet<>();
+    private int suggestions = DEFAULT_SUGGESTIONS;
+    // tries of the shared dictionaries, built in init() rather than on the first misspelled word
+    private WordTrie defaultTrie;
+    private WordTrie userTrie;
 
     @Override
     protected void init() throws RedPenException {
         String lang = getSymbolTable().getLang();
-        WordListExtractor extractor = new WordListExtractor();
-        extractor.setToLowerCase();
+        suggestions = getConfigAttributeAsInt("suggestions", DEFAULT_SUGGESTIONS);
 
         LOG.info("Loading default invalid expression dictionary for " +
                 "\"" + lang + "\".");
         String defaultDictionaryFile = DEFAULT_RESOURCE_PATH
                 + "/spellchecker-" + lang + ".dat";
         try {
-            extractor.loadFromResource(defaultDictionaryFile);
+            defaultDictionary = DictionaryRegistry.getWordListFromResource(defaultDictionaryFile, true);
         } catch (IOException e) {
             LOG.error(e.getMessage());
             LOG.info("Failed to load default dictionary.");
@@ -52,14 +61,20 @@ public class SpellingValidator extends Validator {
         userDictionaryFile.ifPresent(f -> {
             LOG.info("user dictionary file is " + f);
             try {
-                extractor.load(new FileInputStream(f));
+                userDictionary = DictionaryRegistry.getWordList(new File(f), true);
             } catch (IOException e) {
                 LOG.error("Failed to load user dictionary.");
                 return;
             }
             LOG.info("Succeeded to load specified user dictionary.");
         });
-        validWords.addAll(extractor.get());
+
+        if (suggestions > 0) {
+            defaultTrie = DictionaryRegistry.getWordTrie(defaultDictionary);
+            if (!userDictionary.isEmpty()) {
+                userTrie = DictionaryRegistry.getWordTrie(userDictionary);
+            }
+        }
     }
 
     @Override
@@ -70,10 +85,47 @@ public class SpellingValidator extends Validator {
                 continue;
             }
 
-            if (!this.validWords.contains(surface)) {
-                errors.add(createValidationError(sentence, surface));
+            if (!isValid(surface)) {
+                List<String> candidates = suggest(surface);
+                if (candidates.isEmpty()) {
+                    errors.add(createValidationError(sentence, surface));
+                } else {
+                    errors.add(createValidationError("WithSuggestions", sentence, surface,
+                            String.join(", ", candidates)));
+                }
+            }
+        }
+    }
+
+    private boolean isValid(String word) {
+        return defaultDictionary.contains(word) || userDictionary.contains(word) || validWords.contains(word);
+    }
+
+    private List<String> suggest(String word) {
+        if (suggestions <= 0) {
+            return Collections.emptyList();
+        }
+        // the nearest words of each source include the nearest words of all the sources
+        Set<String> candidates = new HashSet<>();
+        if (defaultTrie != null) {
+            candidates.addAll(defaultTrie.search(word, MAX_SUGGESTION_DISTANCE, suggestions));
+        }
+        if (userTrie != null) {
+            candidates.addAll(userTrie.search(word, MAX_SUGGESTION_DISTANCE, suggestions));
+        }
+        candidates.addAll(validWords);
+
+        EditDistance.Matcher matcher = EditDistance.UNIT.matcher(word);
+        Map<String, Integer> distances = new HashMap<>();
+        for (String candidate : candidates) {
+            int distance = matcher.distanceWithin(candidate, MAX_SUGGESTION_DISTANCE);
+            if (distance <= MAX_SUGGESTION_DISTANCE) {
+                distances.put(candidate, distance);
             }
         }
+        List<String> words = new ArrayList<>(distances.keySet());
+        words.sort(Comparator.<String>comparingInt(distances::get).thenComparing(Comparator.naturalOrder()));
+        return words.size() > suggestions ? words.subList(0, suggestions) : words;
     }
 
     private String normalize(String line) {
@@ -109,12 +161,17 @@ public class SpellingValidator extends Validator {
 
         SpellingValidator that = (SpellingValidator) o;
 
+        if (!defaultDictionary.equals(that.defaultDictionary)) return false;
+        if (!userDictionary.equals(that.userDictionary)) return false;
         return !(validWords != null ? !validWords.equals(that.validWords) : that.validWords != null);
 
     }
 
     @Override
     public int hashCode() {
-        return validWords != null ? validWords.hashCode() : 0;
+        int result = validWords != null ? validWords.hashCode() : 0;
+        result = 31 * result + userDictionary.size();
+        result = 31 * result + defaultDictionary.size();
+        return result;
     }
 }
@@ -3,14 +3,15 @@ package cc.redpen.validator.sentence;
 import cc.redpen.RedPenException;
 import cc.redpen.model.Sentence;
 import cc.redpen.tokenizer.TokenElement;
-import cc.redpen.util.WordListExtractor;
+import cc.redpen.util.DictionaryRegistry;
 import cc.redpen.validator.ValidationError;
 import cc.redpen.validator.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -23,6 +24,9 @@ final public class StartWithCapitalLetterValidator extends Validator {
     private static final String DEFAULT_RESOURCE_PATH = "default-resources/capital-letter-exception-list";
     private static final Logger LOG =
             LoggerFactory.getLogger(SpellingValidator.class);
+    // default and user dictionaries are shared by all the validators through DictionaryRegistry
+    private Set<String> defaultDictionary = Collections.emptySet();
+    private Set<String> userDictionary = Collections.emptySet();
     private Set<String> whiteList;
 
     public StartWithCapitalLetterValidator() {
@@ -33,6 +37,10 @@ final public class StartWithCapitalLetterValidator extends Validator {
         return whiteList.add(item);
     }
 
+    private boolean isWhiteListed(String word) {
+        return defaultDictionary.contains(word) || userDictionary.contains(word) || whiteList.contains(word);
+    }
+
     @Override
     public void validate(List<ValidationError> errors, Sentence sentence) {
         String content = sentence.getContent();
@@ -45,7 +53,7 @@ final public class StartWithCapitalLetterValidator extends Validator {
             }
         }
 
-        if (tokens.size() == 0 || this.whiteList.contains(headWord)) {
+        if (tokens.size() == 0 || isWhiteListed(headWord)) {
             return;
         }
 
@@ -68,13 +76,12 @@ final public class StartWithCapitalLetterValidator extends Validator {
 
     @Override
     protected void init() throws RedPenException {
-        WordListExtractor extractor = new WordListExtractor();
 
         LOG.info("Loading default capital letter exception dictionary ");
         String defaultDictionaryFile = DEFAULT_RESOURCE_PATH
                 + "/default-capital-case-exception-list.dat";
         try {
-            extractor.loadFromResource(defaultDictionaryFile);
+            defaultDictionary = DictionaryRegistry.getWordListFromResource(defaultDictionaryFile, false);
         } catch (IOException e) {
             throw new RedPenException("Failed to load default dictionary.", e);
         }
@@ -84,15 +91,13 @@ final public class StartWithCapitalLetterValidator extends Validator {
         confFile.ifPresent(f -> {
             LOG.info("user dictionary file is " + f);
             try {
-                extractor.load(new FileInputStream(f));
+                userDictionary = DictionaryRegistry.getWordList(new File(f), false);
             } catch (IOException e) {
                 LOG.error("Failed to load user dictionary.");
                 return;
             }
             LOG.info("Succeeded to load specified user dictionary.");
         });
-
-        whiteList = extractor.get();
     }
 
     @Override
@@ -109,12 +114,17 @@ final public class StartWithCapitalLetterValidator extends Validator {
 
         StartWithCapitalLetterValidator that = (StartWithCapitalLetterValidator) o;
 
+        if (!defaultDictionary.equals(that.defaultDictionary)) return false;
+        if (!userDictionary.equals(that.userDictionary)) return false;
         return !(whiteList != null ? !whiteList.equals(that.whiteList) : that.whiteList != null);
 
     }
 
     @Override
     public int hashCode() {
-        return whiteList != null ? whiteList.hashCode() : 0;
+        int result = whiteList != null ? whiteList.hashCode() : 0;
+        result = 31 * result + userDictionary.hashCode();
+        result = 31 * result + defaultDictionary.hashCode();
+        return result;
     }
 }
@@ -20,6 +20,11 @@ package cc.redpen;
 import cc.redpen.config.Configuration;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
 import static cc.redpen.config.SymbolType.EXCLAMATION_MARK;
 import static cc.redpen.config.SymbolType.LEFT_SINGLE_QUOTATION_MARK;
 import static org.junit.Assert.*;
@@ -381,4 +386,81 @@ public class ConfigurationLoaderTest {
         configurationLoader.loadFromString(sampleConfigString);
     }
 
+    @Test
+    public void testAbbreviations() throws RedPenException, IOException {
+        File dictionary = File.createTempFile("abbreviations", ".txt");
+        dictionary.deleteOnExit();
+        Files.write(dictionary.toPath(), "approx.\nfig.\n".getBytes(StandardCharsets.UTF_8));
+        String sampleConfigString =
+                "<redpen-conf lang=\"en\">" +
+                        "<validators>" +
+                        "<validator name=\"SentenceLength\" />" +
+                        "</validators>" +
+                        "<abbreviations dict=\"" + dictionary.getAbsolutePath() + "\">" +
+                        "<abbreviation value=\"e.g.\" />" +
+                        "<abbreviation value=\"i.e.\" />" +
+                        "</abbreviations>" +
+                        "</redpen-conf>";
+
+        ConfigurationLoader configurationLoader = new ConfigurationLoader();
+        Configuration configuration = configurationLoader.loadFromString(sampleConfigString);
+        assertEquals(4, configuration.getAbbreviations().size());
+        assertTrue(configuration.getAbbreviations().contains("approx."));
+        assertTrue(configuration.getAbbreviations().contains("fig."));
+        assertTrue(configuration.getAbbreviations().contains("e.g."));
+        assertTrue(configuration.getAbbreviations().contains("i.e."));
+    }
+
+    @Test
+    public void testParagraphTokenization() throws RedPenException {
+        String sampleConfigString =
+                "<redpen-conf lang=\"ja\" tokenization=\"paragraph\">" +
+                        "<validators>" +
+                        "<validator name=\"SentenceLength\" />" +
+                        "</validators>" +
+                        "</redpen-conf>";
+
+        Configuration configuration = new ConfigurationLoader().loadFromString(sampleConfigString);
+        assertTrue(configuration.getTokenizer().isParagraphTokenization());
+    }
+
+    @Test(expected = RedPenException.class)
+    public void testUnknownTokenization() throws RedPenException {
+        String sampleConfigString =
+                "<redpen-conf lang=\"ja\" tokenization=\"document\">" +
+                        "<validators>" +
+                        "<validator name=\"SentenceLength\" />" +
+                        "</validators>" +
+                        "</redpen-conf>";
+
+        new ConfigurationLoader().loadFromString(sampleConfigString);
+    }
+
+    @Test
+    public void testConfigurationWithoutAbbreviations() throws RedPenException {
+        String sampleConfigString =
+                "<redpen-conf lang=\"en\">" +
+                        "<validators>" +
+                        "<validator name=\"SentenceLength\" />" +
+                        "</validators>" +
+                        "</redpen-conf>";
+
+        ConfigurationLoader configurationLoader = new ConfigurationLoader();
+        Configuration configuration = configurationLoader.loadFromString(sampleConfigString);
+        assertEquals(0, configuration.getAbbreviations().size());
+    }
+
+    @Test(expected = RedPenException.class)
+    public void testAbbreviationDictionaryNotFound() throws RedPenException {
+        String sampleConfigString =
+                "<redpen-conf lang=\"en\">" +
+                        "<validators>" +
+                        "<validator name=\"SentenceLength\" />" +
+                        "</validators>" +
+                        "<abbreviations dict=\"not-exist.txt\" />" +
+                        "</redpen-conf>";
+
+        ConfigurationLoader configurationLoader = new ConfigurationLoader();
+        configurationLoader.loadFromString(sampleConfigString);
+    }
 }
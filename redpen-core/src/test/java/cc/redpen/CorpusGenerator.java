@@ -0,0 +1,424 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generate synthetic English and Japanese documents in plain, wiki and markdown formats
+ * for load, scaling and soak tests and benchmarks.
+ * <p>
+ * Documents are deterministic: the same settings and seed always generate the same content, and each file
+ * is generated from its own seed so that files can be generated independently and in any order.
+ * Content is written sentence by sentence, so large corpora can be streamed to files without
+ * holding a document in memory.
+ */
+public final class CorpusGenerator {
+    private static final String[] ENGLISH_WORDS = {
+            "the", "a", "document", "program", "checks", "sentence", "length", "of", "each", "paragraph",
+            "in", "and", "writer", "reads", "text", "before", "publishing", "technical", "manual", "software",
+            "system", "user", "error", "report", "with", "symbols", "section", "header", "list", "item",
+            "configuration", "file", "is", "are", "to", "for", "this", "that", "it", "on",
+            "server", "client", "request", "response", "fast", "simple", "tool", "inspection", "word", "spelling"
+    };
+
+    private static final String[] ENGLISH_MISSPELLINGS = {
+            "recieve", "teh", "seperate", "occured", "definately", "accomodate"
+    };
+
+    private static final String[] ENGLISH_CONTRACTIONS = {
+            "doesn't", "can't", "won't", "isn't"
+    };
+
+    private static final String[] JAPANESE_WORDS = {
+            "文書", "検査", "文章", "長さ", "段落", "記号", "設定", "利用者", "技術", "文書作成",
+            "確認", "誤り", "報告", "見出し", "項目", "辞書", "単語", "表記", "揺れ", "句読点"
+    };
+
+    private static final String[] JAPANESE_PARTICLES = {
+            "は", "が", "を", "に", "の", "で", "と", "から", "まで", "へ"
+    };
+
+    private static final String[] KATAKANA_WORDS = {
+            "ドキュメント", "バリデータ", "サーバ", "クライアント", "インスペクション", "コンフィギュレーション",
+            "テキスト", "ユーザ", "リクエスト", "レスポンス", "パラグラフ", "セクション"
+    };
+
+    private static final String[] KATAKANA_VARIANTS = {
+            "ドキュメンド", "バリデーター", "サーバー", "クライアンド", "インスペクシヨン", "コンフィグレーション",
+            "テクスト", "ユーザー", "リクエスド", "レスポンズ", "パラグラーフ", "セクシヨン"
+    };
+
+    private static final String[] JAPANESE_ENDINGS = {
+            "します", "しました", "できます", "です", "である", "でした"
+    };
+
+    private final long seed;
+    private final String lang;
+    private final String format;
+    private final int files;
+    private final int sections;
+    private final int paragraphs;
+    private final int sentences;
+    private final double meanSentenceLength;
+    private final double sentenceLengthDeviation;
+    private final double katakanaDensity;
+    private final double listBlockRate;
+    private final int listItems;
+    private final double linkRate;
+    private final double errorRate;
+
+    private CorpusGenerator(CorpusGeneratorBuilder builder) {
+        this.seed = builder.seed;
+        this.lang = builder.lang;
+        this.format = builder.format;
+        this.files = builder.files;
+        this.sections = builder.sections;
+        this.paragraphs = builder.paragraphs;
+        this.sentences = builder.sentences;
+        this.meanSentenceLength = builder.meanSentenceLength;
+        this.sentenceLengthDeviation = builder.sentenceLengthDeviation;
+        this.katakanaDensity = builder.katakanaDensity;
+        this.listBlockRate = builder.listBlockRate;
+        this.listItems = builder.listItems;
+        this.linkRate = builder.linkRate;
+        this.errorRate = builder.errorRate;
+    }
+
+    /**
+     * Get the number of files in the corpus.
+     *
+     * @return the number of files
+     */
+    public int getFileCount() {
+        return files;
+    }
+
+    /**
+     * Get the file name extension of the format.
+     *
+     * @return file name extension
+     */
+    public String getExtension() {
+        switch (format) {
+            case "wiki":
+                return "wiki";
+            case "markdown":
+                return "md";
+            default:
+                return "txt";
+        }
+    }
+
+    /**
+     * Generate the content of a file.
+     *
+     * @param fileIndex index of the file, starting from 0
+     * @return content of the file
+     */
+    public String generate(int fileIndex) {
+        StringWriter writer = new StringWriter();
+        try {
+            write(fileIndex, writer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Generate the contents of all the files.
+     *
+     * @return contents of files
+     */
+    public List<String> generateAll() {
+        List<String> contents = new ArrayList<>();
+        for (int i = 0; i < files; i++) {
+            contents.add(generate(i));
+        }
+        return contents;
+    }
+
+    /**
+     * Generate sentences without markup, for benchmarks of sentence splitting and tokenization.
+     *
+     * @param count the number of sentences
+     * @return list of sentences
+     */
+    public List<String> generateSentences(int count) {
+        Random random = new Random(seed);
+        List<String> generated = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            generated.add(sentence(random));
+        }
+        return generated;
+    }
+
+    /**
+     * Write all the files into the given directory, named "corpus-<i>index</i>.<i>extension</i>".
+     *
+     * @param directory output directory
+     * @return written files
+     * @throws IOException when failed to write a file
+     */
+    public List<File> writeFiles(File directory) throws IOException {
+        List<File> written = new ArrayList<>();
+        for (int i = 0; i < files; i++) {
+            File file = new File(directory, "corpus-" + i + "." + getExtension());
+            try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()),
+                    StandardCharsets.UTF_8)) {
+                write(i, writer);
+            }
+            written.add(file);
+        }
+        return written;
+    }
+
+    /**
+     * Write the content of a file.
+     *
+     * @param fileIndex index of the file, starting from 0
+     * @param writer    output
+     * @throws IOException when failed to write
+     */
+    public void write(int fileIndex, Writer writer) throws IOException {
+        Random random = new Random(seed * 31 + fileIndex);
+        for (int i = 0; i < sections; i++) {
+            String header = words(random, 3);
+            switch (format) {
+                case "wiki":
+                    writer.write("h1. " + header + "\n\n");
+                    break;
+                case "markdown":
+                    writer.write("# " + header + "\n\n");
+                    break;
+                default:
+                    break;
+            }
+            for (int j = 0; j < paragraphs; j++) {
+                for (int k = 0; k < sentences; k++) {
+                    if (k > 0 && lang.equals("en")) {
+                        writer.write(' ');
+                    }
+                    writer.write(sentence(random));
+                }
+                writer.write("\n\n");
+            }
+            if (!format.equals("plain") && random.nextDouble() < listBlockRate) {
+                String bullet = format.equals("wiki") ? "- " : "* ";
+                for (int k = 0; k < listItems; k++) {
+                    writer.write(bullet + sentence(random) + "\n");
+                }
+                writer.write("\n");
+            }
+        }
+    }
+
+    private String sentence(Random random) {
+        int length = Math.max(3,
+                (int) Math.round(meanSentenceLength + random.nextGaussian() * sentenceLengthDeviation));
+        String content = words(random, length);
+        if (!format.equals("plain") && random.nextDouble() < linkRate) {
+            content += lang.equals("ja") ? "、詳細は" + link(random) + "を参照" : " as described in " + link(random);
+        }
+        if (random.nextDouble() < errorRate) {
+            content = injectError(random, content);
+        }
+        if (lang.equals("ja")) {
+            return content + JAPANESE_ENDINGS[random.nextInt(JAPANESE_ENDINGS.length)] + "。";
+        }
+        return Character.toUpperCase(content.charAt(0)) + content.substring(1) + ".";
+    }
+
+    private String words(Random random, int length) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            if (lang.equals("ja")) {
+                builder.append(random.nextDouble() < katakanaDensity
+                        ? KATAKANA_WORDS[random.nextInt(KATAKANA_WORDS.length)]
+                        : JAPANESE_WORDS[random.nextInt(JAPANESE_WORDS.length)]);
+                if (i < length - 1) {
+                    builder.append(JAPANESE_PARTICLES[random.nextInt(JAPANESE_PARTICLES.length)]);
+                    if (i % 4 == 3) {
+                        builder.append('、');
+                    }
+                }
+            } else {
+                if (i > 0) {
+                    builder.append(i % 7 == 6 ? ", " : " ");
+                }
+                builder.append(ENGLISH_WORDS[random.nextInt(ENGLISH_WORDS.length)]);
+            }
+        }
+        return builder.toString();
+    }
+
+    private String link(Random random) {
+        String url = "http://example.com/page" + random.nextInt(1000);
+        return format.equals("wiki") ? "[[page|" + url + "]]" : "[page](" + url + ")";
+    }
+
+    private String injectError(Random random, String content) {
+        if (lang.equals("ja")) {
+            if (random.nextBoolean()) {
+                int index = random.nextInt(KATAKANA_VARIANTS.length);
+                return KATAKANA_WORDS[index] + "と" + KATAKANA_VARIANTS[index] + "の" + content;
+            }
+            String word = JAPANESE_WORDS[random.nextInt(JAPANESE_WORDS.length)];
+            return word + "の" + word + "の" + content;
+        }
+        switch (random.nextInt(3)) {
+            case 0:
+                return content + " " + ENGLISH_MISSPELLINGS[random.nextInt(ENGLISH_MISSPELLINGS.length)];
+            case 1:
+                return content + " " + ENGLISH_CONTRACTIONS[random.nextInt(ENGLISH_CONTRACTIONS.length)];
+            default:
+                String word = ENGLISH_WORDS[random.nextInt(ENGLISH_WORDS.length)];
+                return content + " " + word + " " + word;
+        }
+    }
+
+    /**
+     * Builder class of CorpusGenerator.
+     */
+    public static class CorpusGeneratorBuilder {
+        private long seed = 0;
+        private String lang = "en";
+        private String format = "plain";
+        private int files = 1;
+        private int sections = 10;
+        private int paragraphs = 3;
+        private int sentences = 4;
+        private double meanSentenceLength = 15;
+        private double sentenceLengthDeviation = 5;
+        private double katakanaDensity = 0.2;
+        private double listBlockRate = 0.3;
+        private int listItems = 3;
+        private double linkRate = 0.05;
+        private double errorRate = 0.05;
+
+        public CorpusGeneratorBuilder setSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Set the language, "en" or "ja".
+         */
+        public CorpusGeneratorBuilder setLanguage(String lang) {
+            if (!lang.equals("en") && !lang.equals("ja")) {
+                throw new IllegalArgumentException("Unsupported language: " + lang);
+            }
+            this.lang = lang;
+            return this;
+        }
+
+        /**
+         * Set the format, "plain", "wiki" or "markdown". Plain documents have neither headers nor lists.
+         */
+        public CorpusGeneratorBuilder setFormat(String format) {
+            if (!format.equals("plain") && !format.equals("wiki") && !format.equals("markdown")) {
+                throw new IllegalArgumentException("Unsupported format: " + format);
+            }
+            this.format = format;
+            return this;
+        }
+
+        public CorpusGeneratorBuilder setFiles(int files) {
+            this.files = files;
+            return this;
+        }
+
+        public CorpusGeneratorBuilder setSections(int sections) {
+            this.sections = sections;
+            return this;
+        }
+
+        /**
+         * Set the number of paragraphs in a section.
+         */
+        public CorpusGeneratorBuilder setParagraphs(int paragraphs) {
+            this.paragraphs = paragraphs;
+            return this;
+        }
+
+        /**
+         * Set the number of sentences in a paragraph.
+         */
+        public CorpusGeneratorBuilder setSentences(int sentences) {
+            this.sentences = sentences;
+            return this;
+        }
+
+        /**
+         * Set the normal distribution of the number of words in a sentence. Sentences have 3 words at least.
+         */
+        public CorpusGeneratorBuilder setSentenceLength(double mean, double deviation) {
+            this.meanSentenceLength = mean;
+            this.sentenceLengthDeviation = deviation;
+            return this;
+        }
+
+        /**
+         * Set the ratio of katakana words to all words in Japanese documents.
+         */
+        public CorpusGeneratorBuilder setKatakanaDensity(double katakanaDensity) {
+            this.katakanaDensity = katakanaDensity;
+            return this;
+        }
+
+        /**
+         * Set the probability that a section has a list block and the number of its items.
+         */
+        public CorpusGeneratorBuilder setListBlocks(double listBlockRate, int listItems) {
+            this.listBlockRate = listBlockRate;
+            this.listItems = listItems;
+            return this;
+        }
+
+        /**
+         * Set the probability that a sentence has a link. Plain documents have no links.
+         */
+        public CorpusGeneratorBuilder setLinkRate(double linkRate) {
+            this.linkRate = linkRate;
+            return this;
+        }
+
+        /**
+         * Set the probability that a sentence has an error such as a misspelling, a contraction,
+         * a doubled word or a katakana spelling variant.
+         */
+        public CorpusGeneratorBuilder setErrorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        public CorpusGenerator build() {
+            return new CorpusGenerator(this);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen;
+
+import cc.redpen.config.Configuration;
+import cc.redpen.config.ValidatorConfiguration;
+import cc.redpen.model.Document;
+import cc.redpen.model.Paragraph;
+import cc.redpen.model.Section;
+import cc.redpen.parser.DocumentParser;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CorpusGeneratorTest {
+
+    @Test
+    public void testGenerationIsDeterministic() {
+        CorpusGenerator.CorpusGeneratorBuilder builder = new CorpusGenerator.CorpusGeneratorBuilder()
+                .setSeed(42)
+                .setFiles(3);
+        List<String> contents = builder.build().generateAll();
+        assertEquals(3, contents.size());
+        assertEquals(contents, builder.build().generateAll());
+        assertEquals(contents.get(2), builder.build().generate(2));
+        assertFalse(contents.get(0).equals(contents.get(1)));
+        assertFalse(contents.equals(builder.setSeed(43).build().generateAll()));
+    }
+
+    @Test
+    public void testGenerateMarkdown() throws RedPenException {
+        CorpusGenerator generator = new CorpusGenerator.CorpusGeneratorBuilder()
+                .setFormat("markdown")
+                .setSections(5)
+                .setParagraphs(2)
+                .setSentences(3)
+                .setListBlocks(1.0, 2)
+                .setLinkRate(0)
+                .build();
+        Document document = parse(DocumentParser.MARKDOWN, generator.generate(0), "en");
+        // parser adds an empty section before the first header
+        assertEquals(6, document.size());
+        for (int i = 1; i < document.size(); i++) {
+            Section section = document.getSection(i);
+            assertEquals(2, section.getNumberOfParagraphs());
+            assertEquals(3, section.getParagraph(0).getNumberOfSentences());
+            assertEquals(1, section.getNumberOfLists());
+            assertEquals(2, section.getListBlock(0).getNumberOfListElements());
+        }
+    }
+
+    @Test
+    public void testGenerateJapaneseWiki() throws RedPenException {
+        CorpusGenerator generator = new CorpusGenerator.CorpusGeneratorBuilder()
+                .setLanguage("ja")
+                .setFormat("wiki")
+                .setSections(4)
+                .setListBlocks(0, 0)
+                .setLinkRate(1.0)
+                .build();
+        Document document = parse(DocumentParser.WIKI, generator.generate(0), "ja");
+        assertEquals(5, document.size());
+        for (int i = 1; i < document.size(); i++) {
+            Section section = document.getSection(i);
+            int sentences = 0;
+            for (Paragraph paragraph : section.getParagraphs()) {
+                sentences += paragraph.getNumberOfSentences();
+            }
+            assertEquals(3 * 4, sentences);
+            assertEquals(1, section.getParagraph(0).getSentence(0).getLinks().size());
+        }
+    }
+
+    @Test
+    public void testErrorRate() throws RedPenException {
+        Configuration configuration = new Configuration.ConfigurationBuilder()
+                .addValidatorConfig(new ValidatorConfiguration("Contraction"))
+                .addValidatorConfig(new ValidatorConfiguration("Spelling"))
+                .build();
+        RedPen redPen = new RedPen(configuration);
+        CorpusGenerator.CorpusGeneratorBuilder builder = new CorpusGenerator.CorpusGeneratorBuilder()
+                .setSections(20);
+
+        String clean = builder.setErrorRate(0).build().generate(0);
+        assertEquals(0, redPen.validate(redPen.parse(DocumentParser.PLAIN, clean)).size());
+
+        String dirty = builder.setErrorRate(0.5).build().generate(0);
+        assertTrue(redPen.validate(redPen.parse(DocumentParser.PLAIN, dirty)).size() > 20);
+    }
+
+    private Document parse(DocumentParser parser, String content, String lang) throws RedPenException {
+        Configuration configuration = new Configuration.ConfigurationBuilder().setLanguage(lang).build();
+        return new RedPen(configuration).parse(parser, content);
+    }
+}
@@ -22,13 +22,19 @@ import cc.redpen.config.ValidatorConfiguration;
 import cc.redpen.model.Document;
 import cc.redpen.model.Paragraph;
 import cc.redpen.model.Section;
+import cc.redpen.model.Sentence;
 import cc.redpen.parser.DocumentParser;
+import cc.redpen.parser.LineOffset;
 import cc.redpen.parser.SentenceExtractor;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
@@ -174,4 +180,139 @@ public class PlainTextParserTest {
         assertEquals(0, calcLineNum(section));
     }
 
+    @Test
+    public void testGenerateDocumentWithCarriageReturns() {
+        Document doc = generateDocument("This is a pen.\r\nThat is\ra orange.\r\n\r\nHappy life.");
+        Section section = doc.getLastSection();
+        assertEquals(2, extractParagraphs(section).size());
+        assertEquals("This is a pen.", section.getParagraph(0).getSentence(0).getContent());
+        assertEquals(1, section.getParagraph(0).getSentence(0).getLineNum());
+        assertEquals("That isa orange.", section.getParagraph(0).getSentence(1).getContent());
+        assertEquals(3, section.getParagraph(0).getSentence(1).getLineNum());
+        assertEquals("Happy life.", section.getParagraph(1).getSentence(0).getContent());
+        assertEquals(5, section.getParagraph(1).getSentence(0).getLineNum());
+    }
+
+    @Test
+    public void testGenerateDocumentWithLongWrappedParagraph() {
+        StringBuilder sampleText = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            sampleText.append("word").append(i).append(i % 10 == 9 ? ".\n" : " \n");
+        }
+        Document doc = generateDocument(sampleText.toString());
+        Section section = doc.getLastSection();
+        assertEquals(2000, section.getParagraph(0).getNumberOfSentences());
+        assertEquals("word0 word1 word2 word3 word4 word5 word6 word7 word8 word9.",
+                section.getParagraph(0).getSentence(0).getContent());
+        assertEquals(10, section.getParagraph(0).getSentence(0).getLineNum());
+    }
+
+    @Test
+    public void testSameAsLineByLineParsing() throws IOException {
+        String[] pieces = {"This", " ", "pen", ".", ". ", "?", "\u3002", "\u3042", "Mr.", "a.m.", "\"",
+                "\n", "\n", "\n\n", "\r\n", "\r"};
+        Configuration configuration = new Configuration.ConfigurationBuilder().build();
+        SentenceExtractor extractor = new SentenceExtractor(configuration.getSymbolTable());
+        Random random = new Random(0);
+        for (int trial = 0; trial < 2000; trial++) {
+            StringBuilder builder = new StringBuilder();
+            int length = random.nextInt(30);
+            for (int i = 0; i < length; i++) {
+                builder.append(pieces[random.nextInt(pieces.length)]);
+            }
+            String sampleText = builder.toString();
+            Section section = generateDocument(sampleText).getLastSection();
+            assertEquals(sampleText, parseLineByLine(sampleText, extractor), toStrings(section));
+            assertOffsets(sampleText, section);
+        }
+    }
+
+    @Test
+    public void testSentenceOffsets() {
+        Document doc = generateDocument("Hello world. This is a\r\nlong sentence.\n\nThat is it.");
+        Section section = doc.getLastSection();
+        Sentence first = section.getParagraph(0).getSentence(0);
+        assertEquals(1, first.getLineNum());
+        assertEquals(0, first.getStartPositionOffset());
+        assertEquals(new LineOffset(1, 11), first.getOffsetMap().get(11));
+
+        Sentence second = section.getParagraph(0).getSentence(1);
+        assertEquals(" This is a" + "long sentence.", second.getContent());
+        assertEquals(2, second.getLineNum());
+        assertEquals(12, second.getStartPositionOffset());
+        assertEquals(new LineOffset(1, 12), second.getOffsetMap().get(0));
+        assertEquals(new LineOffset(1, 21), second.getOffsetMap().get(9));
+        assertEquals(new LineOffset(2, 0), second.getOffsetMap().get(10));
+        assertEquals(24, second.getOffsetMap().size());
+
+        Sentence third = section.getParagraph(1).getSentence(0);
+        assertEquals(4, third.getLineNum());
+        assertEquals(new LineOffset(4, 0), third.getOffsetMap().get(0));
+    }
+
+    /**
+     * Check that the offset map of every sentence points to its characters in the text.
+     */
+    private static void assertOffsets(String text, Section section) {
+        String[] lines = text.split("\r\n|\r|\n", -1);
+        for (Paragraph paragraph : section.getParagraphs()) {
+            for (int i = 0; i < paragraph.getNumberOfSentences(); i++) {
+                Sentence sentence = paragraph.getSentence(i);
+                String content = sentence.getContent();
+                List<LineOffset> offsets = sentence.getOffsetMap();
+                assertEquals(text, content.length(), offsets.size());
+                if (!content.isEmpty()) {
+                    assertEquals(text, offsets.get(0).offset, sentence.getStartPositionOffset());
+                }
+                for (int j = 0; j < content.length(); j++) {
+                    LineOffset offset = offsets.get(j);
+                    assertEquals(text, content.charAt(j), lines[offset.lineNum - 1].charAt(offset.offset));
+                }
+            }
+        }
+    }
+
+    private static List<List<String>> toStrings(Section section) {
+        List<List<String>> paragraphs = new ArrayList<>();
+        for (Paragraph paragraph : section.getParagraphs()) {
+            List<String> sentences = new ArrayList<>();
+            for (int i = 0; i < paragraph.getNumberOfSentences(); i++) {
+                sentences.add(paragraph.getSentence(i).getLineNum() + ":" + paragraph.getSentence(i).getContent());
+            }
+            paragraphs.add(sentences);
+        }
+        return paragraphs;
+    }
+
+    /**
+     * The plain text parsing as it was done before the parser streamed the characters.
+     */
+    private static List<List<String>> parseLineByLine(String text, SentenceExtractor extractor) throws IOException {
+        List<List<String>> paragraphs = new ArrayList<>();
+        paragraphs.add(new ArrayList<>());
+        BufferedReader reader = new BufferedReader(new StringReader(text));
+        String remain = "";
+        String line;
+        int lineNum = 1;
+        while ((line = reader.readLine()) != null) {
+            int periodPosition = extractor.getSentenceEndPosition(line);
+            if (line.equals("")) {
+                paragraphs.add(new ArrayList<>());
+            } else if (periodPosition == -1) {
+                remain = remain + line;
+            } else {
+                line = remain + line;
+                while ((periodPosition = extractor.getSentenceEndPosition(line)) != -1) {
+                    paragraphs.get(paragraphs.size() - 1).add(lineNum + ":" + line.substring(0, periodPosition + 1));
+                    line = line.substring(periodPosition + 1);
+                }
+                remain = line;
+            }
+            lineNum++;
+        }
+        if (remain.length() > 0) {
+            paragraphs.get(paragraphs.size() - 1).add(lineNum + ":" + remain);
+        }
+        return paragraphs;
+    }
 }
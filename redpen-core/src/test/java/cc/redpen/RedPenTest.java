@@ -21,17 +21,23 @@ import cc.redpen.config.Configuration;
 import cc.redpen.config.ValidatorConfiguration;
 import cc.redpen.model.Document;
 import cc.redpen.validator.ValidationError;
+import cc.redpen.validator.ValidationErrorListener;
 import junit.framework.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertThat;
 import static org.junit.matchers.JUnitMatchers.containsString;
 
@@ -179,6 +185,247 @@ public class RedPenTest {
 
     }
 
+    @Test
+    public void testParallelValidation() throws RedPenException {
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            documents.add(new Document.DocumentBuilder()
+                    .setFileName("tested file " + i)
+                    .addSection(0)
+                    .addSectionHeader("this is it")
+                    .addParagraph()
+                    .addSentence("it is a piece of a cake.", 0)
+                    .addSentence(i % 2 == 0 ? "フレーズ・アナライズにバグがある" : "バグのあるフェーズ・アナライシス", 1)
+                    .addListBlock()
+                    .addListElement(0, "this is a list.")
+                    .addSection(0)
+                    .addSectionHeader("this is it")
+                    .addParagraph()
+                    .addSentence("it is a piece of a cake.", 2)
+                    .build());
+        }
+
+        Map<Document, List<ValidationError>> expected = getRedPenWithMixedValidators().validate(documents);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Map<Document, List<ValidationError>> actual = getRedPenWithMixedValidators().validate(documents, pool);
+            assertEquals(expected.size(), actual.size());
+            assertEquals(1, expected.get(documents.get(1)).stream()
+                    .filter(e -> e.getValidatorName().equals("KatakanaSpellCheck")).count());
+            for (Document document : documents) {
+                List<ValidationError> expectedErrors = expected.get(document);
+                List<ValidationError> actualErrors = actual.get(document);
+                assertEquals(expectedErrors.size(), actualErrors.size());
+                for (int i = 0; i < expectedErrors.size(); i++) {
+                    assertEquals(expectedErrors.get(i).getValidatorName(), actualErrors.get(i).getValidatorName());
+                    assertEquals(expectedErrors.get(i).getMessage(), actualErrors.get(i).getMessage());
+                    assertEquals(expectedErrors.get(i).getSentence(), actualErrors.get(i).getSentence());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testStreamingValidation() throws RedPenException {
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            documents.add(new Document.DocumentBuilder()
+                    .setFileName("tested file " + i)
+                    .addSection(0)
+                    .addSectionHeader("this is it")
+                    .addParagraph()
+                    .addSentence("it is a piece of a cake.", 0)
+                    .build());
+        }
+
+        List<String> events = new ArrayList<>();
+        Iterator<Document> iterator = documents.iterator();
+        Iterator<Document> recordingIterator = new Iterator<Document>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Document next() {
+                Document document = iterator.next();
+                events.add("next:" + document.getFileName().get());
+                return document;
+            }
+        };
+
+        RedPen redPen = getRedPenWithSentenceValidator();
+        redPen.validate(recordingIterator, (document, error) -> {
+            assertThat(error.getValidatorName(), is("SentenceLength"));
+            events.add("error:" + document.getFileName().get());
+        });
+        assertEquals(Arrays.asList(
+                "next:tested file 0", "error:tested file 0", "error:tested file 0",
+                "next:tested file 1", "error:tested file 1", "error:tested file 1",
+                "next:tested file 2", "error:tested file 2", "error:tested file 2"), events);
+    }
+
+    @Test
+    public void testValidationRunsAreIsolated() throws RedPenException {
+        Document first = new Document.DocumentBuilder()
+                .addSection(0)
+                .addParagraph()
+                .addSentence("フレーズ・アナライズにバグがある", 0)
+                .build();
+        Document second = new Document.DocumentBuilder()
+                .addSection(0)
+                .addParagraph()
+                .addSentence("バグのあるフェーズ・アナライシス", 0)
+                .build();
+
+        Configuration configuration = new Configuration.ConfigurationBuilder()
+                .addValidatorConfig(new ValidatorConfiguration("KatakanaSpellCheck"))
+                .build();
+        RedPen redPen = new RedPen(configuration);
+        assertEquals(0, redPen.validate(first).size());
+        // katakana words learned in the previous run must not leak
+        assertEquals(0, redPen.validate(second).size());
+
+        List<Document> documents = new ArrayList<>();
+        documents.add(first);
+        documents.add(second);
+        assertEquals(1, redPen.validate(documents).get(second).size());
+    }
+
+    @Test
+    public void testValidationStopsWhenErrorLimitIsExceeded() throws RedPenException {
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            documents.add(new Document.DocumentBuilder()
+                    .setFileName("tested file " + i)
+                    .addSection(0)
+                    .addParagraph()
+                    .addSentence("it is a piece of a cake.", 0)
+                    .addSentence("that is also a piece of a cake.", 1)
+                    .build());
+        }
+        List<Document> pulledDocuments = new ArrayList<>();
+        Iterator<Document> iterator = documents.iterator();
+        Iterator<Document> recordingIterator = new Iterator<Document>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Document next() {
+                Document document = iterator.next();
+                pulledDocuments.add(document);
+                return document;
+            }
+        };
+
+        List<ValidationError> errors = new ArrayList<>();
+        RedPen redPen = getRedPenWithSentenceValidator();
+        assertTrue(redPen.validate(recordingIterator, (document, error) -> errors.add(error), 2));
+        assertEquals(4, errors.size());
+        assertEquals(2, pulledDocuments.size());
+
+        errors.clear();
+        assertFalse(redPen.validate(documents.iterator(), (document, error) -> errors.add(error), 6));
+        assertEquals(6, errors.size());
+    }
+
+    @Test
+    public void testDocumentsWithoutErrorsAreReported() throws RedPenException {
+        List<Document> documents = new ArrayList<>();
+        documents.add(new Document.DocumentBuilder()
+                .setFileName("tested file 0")
+                .addSection(0)
+                .addParagraph()
+                .addSentence("it is a piece of a cake.", 0)
+                .build());
+        documents.add(new Document.DocumentBuilder()
+                .setFileName("tested file 1")
+                .addSection(0)
+                .addParagraph()
+                .addSentence("cake.", 0)
+                .build());
+
+        List<String> events = new ArrayList<>();
+        RedPen redPen = getRedPenWithSentenceValidator();
+        assertFalse(redPen.validate(documents.iterator(), new ValidationErrorListener() {
+            @Override
+            public void onDocument(Document document) {
+                events.add("document:" + document.getFileName().get());
+            }
+
+            @Override
+            public void onError(Document document, ValidationError error) {
+                events.add("error:" + document.getFileName().get());
+            }
+        }, 10));
+        assertEquals(Arrays.asList(
+                "document:tested file 0", "error:tested file 0", "document:tested file 1"), events);
+    }
+
+    @Test
+    public void testMaxErrorsPerValidator() throws RedPenException {
+        Document document = new Document.DocumentBuilder()
+                .addSection(0)
+                .addSectionHeader("this is it.")
+                .addParagraph()
+                .addSentence("it is a piece of a cake.", 0)
+                .addSentence("that is also a piece of a cake.", 1)
+                .build();
+
+        Configuration configuration = new Configuration.ConfigurationBuilder()
+                .addValidatorConfig(new ValidatorConfiguration("SentenceLength")
+                        .addAttribute("max_len", "5")
+                        .addAttribute("max_errors", "2"))
+                .build();
+        RedPen redPen = new RedPen(configuration);
+        assertEquals(2, redPen.validate(document).size());
+    }
+
+    @Test
+    public void testMaxErrorsOfZero() throws RedPenException {
+        Document document = new Document.DocumentBuilder()
+                .addSection(0)
+                .addParagraph()
+                .addSentence("it is, a piece of a cake.", 0)
+                .build();
+
+        // the error of the other validator is kept
+        Configuration configuration = new Configuration.ConfigurationBuilder()
+                .addValidatorConfig(new ValidatorConfiguration("CommaNumber")
+                        .addAttribute("max_num", "0"))
+                .addValidatorConfig(new ValidatorConfiguration("SentenceLength")
+                        .addAttribute("max_len", "5")
+                        .addAttribute("max_errors", "0"))
+                .build();
+        RedPen redPen = new RedPen(configuration);
+        List<ValidationError> errors = redPen.validate(document);
+        assertEquals(1, errors.size());
+        assertEquals("CommaNumber", errors.get(0).getValidatorName());
+    }
+
+    @Test(expected = RedPenException.class)
+    public void testNegativeMaxErrors() throws RedPenException {
+        Configuration configuration = new Configuration.ConfigurationBuilder()
+                .addValidatorConfig(new ValidatorConfiguration("SentenceLength")
+                        .addAttribute("max_errors", "-1"))
+                .build();
+        new RedPen(configuration);
+    }
+
+    private RedPen getRedPenWithMixedValidators() throws RedPenException {
+        Configuration configuration = new Configuration.ConfigurationBuilder()
+                .addValidatorConfig(
+                        new ValidatorConfiguration("SentenceLength").addAttribute("max_len", "5"))
+                .addValidatorConfig(new ValidatorConfiguration("KatakanaSpellCheck"))
+                .addValidatorConfig(new ValidatorConfiguration("DuplicatedSection"))
+                .build();
+        return new RedPen(configuration);
+    }
+
     private RedPen getRedPenWithSentenceValidator() throws
             RedPenException {
 
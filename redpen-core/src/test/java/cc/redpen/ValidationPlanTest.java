@@ -0,0 +1,84 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen;
+
+import cc.redpen.model.Document;
+import cc.redpen.model.Section;
+import cc.redpen.model.Sentence;
+import cc.redpen.validator.ValidationError;
+import cc.redpen.validator.Validator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ValidationPlanTest {
+    @Test
+    public void testPreValidationPrecedesValidation() {
+        List<String> calls = new ArrayList<>();
+        Validator validator = new Validator() {
+            @Override
+            public void preValidate(Sentence sentence) {
+                calls.add("pre:" + sentence.getContent());
+            }
+
+            @Override
+            public void validate(List<ValidationError> errors, Section section) {
+                calls.add("section:" + section.getHeaderContent(0).getContent());
+            }
+        };
+        Document document = new Document.DocumentBuilder()
+                .addSection(0)
+                .addSectionHeader("header1")
+                .addParagraph()
+                .addSentence("sentence1", 1)
+                .addSection(0)
+                .addSectionHeader("header2")
+                .addParagraph()
+                .addSentence("sentence2", 2)
+                .build();
+
+        ValidationContext context = new ValidationPlan(Arrays.asList(validator)).newContext();
+        context.preValidate(document);
+        context.validate(document, new ArrayList<>());
+        assertEquals(Arrays.asList("pre:sentence1", "pre:header1", "pre:sentence2", "pre:header2",
+                "section:header1", "section:header2"), calls);
+    }
+
+    @Test
+    public void testCreateSlots() {
+        Document document = new Document.DocumentBuilder()
+                .addSection(0)
+                .addSectionHeader("header")
+                .addParagraph()
+                .addSentence("sentence1", 1)
+                .addParagraph()
+                .addSentence("sentence2", 2)
+                .addListBlock()
+                .addListElement(0, "element1")
+                .addListElement(0, "element2")
+                .build();
+
+        ValidationPlan plan = new ValidationPlan(Arrays.asList(new Validator() {}, new Validator() {}));
+        // document, one section, two paragraphs, one header and two list elements
+        assertEquals(7 * 2, plan.createSlots(document).length);
+    }
+}
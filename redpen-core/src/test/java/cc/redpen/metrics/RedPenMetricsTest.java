@@ -0,0 +1,129 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.metrics;
+
+import cc.redpen.RedPen;
+import cc.redpen.RedPenException;
+import cc.redpen.config.Configuration;
+import cc.redpen.config.ValidatorConfiguration;
+import cc.redpen.model.Document;
+import cc.redpen.parser.DocumentParser;
+import cc.redpen.validator.ValidationError;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class RedPenMetricsTest {
+
+    @Test
+    public void testMetricsAreNotCollectedUntilEnabled() throws RedPenException {
+        RedPen redPen = getRedPen();
+        redPen.validate(redPen.parse(DocumentParser.PLAIN, "this is a pen. that is a pen."));
+
+        RedPenMetrics metrics = redPen.getMetrics();
+        assertEquals(0, metrics.getParseCalls());
+        assertEquals(0, metrics.getTokenizeCalls());
+        assertEquals(0, metrics.getValidatorMetrics("SentenceLengthValidator").getSentenceCalls());
+    }
+
+    @Test
+    public void testCollectMetrics() throws RedPenException {
+        RedPen redPen = getRedPen();
+        RedPenMetrics metrics = redPen.getMetrics();
+        metrics.setEnabled(true);
+        Document document = redPen.parse(DocumentParser.PLAIN, "this is a pen. that is a pen.");
+        // sentences are tokenized when a validator requests the tokens
+        assertEquals(0, metrics.getTokenizeCalls());
+        List<ValidationError> errors = redPen.validate(document);
+
+        assertEquals(1, metrics.getParseCalls());
+        // DuplicatedSectionValidator requests the tokens of the two sentences
+        assertEquals(2, metrics.getTokenizeCalls());
+
+        ValidatorMetrics sentenceLength = metrics.getValidatorMetrics("SentenceLengthValidator");
+        // two sentences and the empty header added by the plain text parser
+        assertEquals(3, sentenceLength.getSentenceCalls());
+        assertEquals(0, sentenceLength.getSectionCalls());
+        assertEquals(errors.size(), sentenceLength.getErrorCount());
+        long histogramCount = 0;
+        for (long count : sentenceLength.getSentenceLatencyHistogram()) {
+            histogramCount += count;
+        }
+        assertEquals(3, histogramCount);
+
+        ValidatorMetrics duplicatedSection = metrics.getValidatorMetrics("DuplicatedSectionValidator");
+        assertEquals(1, duplicatedSection.getPreValidateCalls());
+        assertEquals(1, duplicatedSection.getSectionCalls());
+        assertEquals(0, duplicatedSection.getSentenceCalls());
+        assertNull(metrics.getValidatorMetrics("SpellingValidator"));
+
+        metrics.reset();
+        assertEquals(0, metrics.getParseCalls());
+        assertEquals(0, sentenceLength.getSentenceCalls());
+        assertEquals(0, sentenceLength.getSentenceLatencyPercentile(99));
+    }
+
+    @Test
+    public void testSentenceLatencyPercentile() {
+        ValidatorMetrics metrics = new ValidatorMetrics("test");
+        for (int i = 0; i < 99; i++) {
+            metrics.record(ValidatorMetrics.Hook.SENTENCE, 100, 0);
+        }
+        metrics.record(ValidatorMetrics.Hook.SENTENCE, 5000, 0);
+
+        assertEquals(127, metrics.getSentenceLatencyPercentile(50));
+        assertEquals(127, metrics.getSentenceLatencyPercentile(99));
+        assertEquals(8191, metrics.getSentenceLatencyPercentile(100));
+    }
+
+    @Test
+    public void testRegisterMBeans() throws Exception {
+        RedPen redPen = getRedPen();
+        redPen.getMetrics().setEnabled(true);
+        redPen.validate(redPen.parse(DocumentParser.PLAIN, "this is a pen. that is a pen."));
+
+        List<ObjectName> names = redPen.getMetrics().registerMBeans("test");
+        try {
+            assertEquals(3, names.size());
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(1L, server.getAttribute(names.get(0), "ParseCalls"));
+            ObjectName sentenceLength = new ObjectName(
+                    "cc.redpen:type=ValidatorMetrics,name=\"test\",validator=\"SentenceLengthValidator\"");
+            assertEquals(3L, server.getAttribute(sentenceLength, "SentenceCalls"));
+            assertNotNull(server.getAttribute(sentenceLength, "SentenceLatencyHistogram"));
+        } finally {
+            RedPenMetrics.unregisterMBeans(names);
+        }
+    }
+
+    private RedPen getRedPen() throws RedPenException {
+        Configuration configuration = new Configuration.ConfigurationBuilder()
+                .addValidatorConfig(
+                        new ValidatorConfiguration("SentenceLength").addAttribute("max_len", "5"))
+                .addValidatorConfig(new ValidatorConfiguration("DuplicatedSection"))
+                .build();
+        return new RedPen(configuration);
+    }
+}
@@ -1,11 +1,18 @@
 package cc.redpen.model;
 
 import cc.redpen.tokenizer.JapaneseTokenizer;
+import cc.redpen.tokenizer.RedPenTokenizer;
+import cc.redpen.tokenizer.TokenElement;
+import cc.redpen.tokenizer.WhiteSpaceTokenizer;
 import org.junit.Test;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class DocumentTest {
     @Test
@@ -77,6 +84,72 @@ public class DocumentTest {
         assertEquals(5, doc.getSection(0).getParagraph(0).getSentence(0).getTokens().size());
     }
 
+    @Test
+    public void testSentenceIsTokenizedOnFirstUse() {
+        AtomicInteger calls = new AtomicInteger();
+        WhiteSpaceTokenizer whiteSpaceTokenizer = new WhiteSpaceTokenizer();
+        Document doc = new Document.DocumentBuilder(content -> {
+            calls.incrementAndGet();
+            return whiteSpaceTokenizer.tokenize(content);
+        })
+                .setFileName("foobar")
+                .addSection(0)
+                .addParagraph()
+                .addSentence("This is a foobar.", 0)
+                .build();
+        Sentence sentence = doc.getSection(0).getParagraph(0).getSentence(0);
+        assertFalse(sentence.isTokenized());
+        assertEquals(0, calls.get());
+
+        assertEquals(4, sentence.getTokens().size());
+        assertEquals(4, sentence.getTokens().size());
+        assertTrue(sentence.isTokenized());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testSentencesInParagraphAreTokenizedTogether() {
+        AtomicInteger calls = new AtomicInteger();
+        Document doc = new Document.DocumentBuilder(new RedPenTokenizer() {
+            private final RedPenTokenizer tokenizer = new WhiteSpaceTokenizer();
+
+            @Override
+            public List<TokenElement> tokenize(String sentence) {
+                return tokenizer.tokenize(sentence);
+            }
+
+            @Override
+            public List<List<TokenElement>> tokenize(List<String> sentences) {
+                calls.incrementAndGet();
+                return RedPenTokenizer.super.tokenize(sentences);
+            }
+
+            @Override
+            public boolean isParagraphTokenization() {
+                return true;
+            }
+        })
+                .setFileName("foobar")
+                .addSection(0)
+                .addParagraph()
+                .addSentence("This is a foobar.", 0)
+                .addSentence("That is a pen.", 0)
+                .addParagraph()
+                .addSentence("It is not a foobar.", 1)
+                .build();
+        Paragraph paragraph = doc.getSection(0).getParagraph(0);
+        assertEquals(0, calls.get());
+        assertEquals(4, paragraph.getSentence(1).getTokens().size());
+        assertTrue(paragraph.getSentence(0).isTokenized());
+        assertEquals(4, paragraph.getSentence(0).getTokens().size());
+        assertEquals(1, calls.get());
+
+        Sentence sentence = doc.getSection(0).getParagraph(1).getSentence(0);
+        assertFalse(sentence.isTokenized());
+        assertEquals(5, sentence.getTokens().size());
+        assertEquals(2, calls.get());
+    }
+
     @Test(expected = IllegalStateException.class)
     public void testCreateParagraphBeforeSection() {
         new Document.DocumentBuilder()
@@ -17,13 +17,21 @@
  */
 package cc.redpen.parser;
 
+import cc.redpen.CorpusGenerator;
 import cc.redpen.config.Configuration;
+import cc.redpen.config.SymbolTable;
 import cc.redpen.model.Sentence;
+import cc.redpen.util.DictionaryRegistry;
+import cc.redpen.util.EndOfSentenceDetector;
 import org.junit.Test;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 public class SentenceExtractorTest {
@@ -328,4 +336,116 @@ public class SentenceExtractorTest {
         SentenceExtractor extractor = new SentenceExtractor(new Configuration.ConfigurationBuilder().build().getSymbolTable());
         extractor.constructEndSentencePattern(); // not a throw exception
     }
+
+    @Test
+    public void testSentenceEndPositionsInRange() {
+        SentenceExtractor extractor = new SentenceExtractor(new Configuration.ConfigurationBuilder().build().getSymbolTable());
+        String str = "xx this is a pen. He is Mr. Smith. that is";
+        assertArrayEquals(new int[]{16, 33}, extractor.getSentenceEndPositions(str, 2, str.length()));
+        assertArrayEquals(new int[]{16}, extractor.getSentenceEndPositions(str, 2, 30));
+        assertArrayEquals(new int[0], extractor.getSentenceEndPositions(str, 17, 30));
+    }
+
+    @Test
+    public void testSentenceEndPositionsSameAsRepeatedSearch() {
+        List<SentenceExtractor> extractors = Arrays.asList(
+                new SentenceExtractor(new Configuration.ConfigurationBuilder().build().getSymbolTable()),
+                new SentenceExtractor(new Configuration.ConfigurationBuilder().setLanguage("ja").build().getSymbolTable()));
+        String[] pieces = {"a", "b", " ", ".", "?", "!", "\"", "'", "\n", "\u3002", "\u3042", "\uff0e", "\uff1f",
+                "Mr.", "a.m.", "U.S.A.", "Co., Ltd.", "B.C"};
+        Random random = new Random(0);
+        for (SentenceExtractor extractor : extractors) {
+            for (int trial = 0; trial < 2000; trial++) {
+                StringBuilder builder = new StringBuilder();
+                int length = random.nextInt(20);
+                for (int i = 0; i < length; i++) {
+                    builder.append(pieces[random.nextInt(pieces.length)]);
+                }
+                String str = builder.toString();
+
+                List<Integer> expected = new ArrayList<>();
+                int offset = 0;
+                int position;
+                while ((position = extractor.getSentenceEndPosition(str.substring(offset))) != -1) {
+                    expected.add(offset + position);
+                    offset += position + 1;
+                }
+                int[] actual = extractor.getSentenceEndPositions(str, 0, str.length());
+                assertEquals(str, expected.toString(), Arrays.toString(actual));
+            }
+        }
+    }
+
+    @Test
+    public void testConfiguredAbbreviations() {
+        List<String> abbreviations = Arrays.asList("e.g.", "approx.");
+        SentenceExtractor extractor = new SentenceExtractor(
+                new Configuration.ConfigurationBuilder().build().getSymbolTable(), abbreviations);
+        List<Sentence> outputSentences = new ArrayList<>();
+        String remain = extractor.extract("Use a tool e.g. RedPen. It takes approx. one second.",
+                outputSentences, 0);
+        assertEquals(2, outputSentences.size());
+        assertEquals("Use a tool e.g. RedPen.", outputSentences.get(0).getContent());
+        assertEquals(" It takes approx. one second.", outputSentences.get(1).getContent());
+        assertEquals("", remain);
+    }
+
+    @Test
+    public void testDefaultAbbreviationsAreKept() {
+        SentenceExtractor extractor = new SentenceExtractor(
+                new Configuration.ConfigurationBuilder().build().getSymbolTable(), Arrays.asList("e.g."));
+        List<Sentence> outputSentences = new ArrayList<>();
+        extractor.extract("He is Mr. Smith. That is a pen.", outputSentences, 0);
+        assertEquals(2, outputSentences.size());
+        assertEquals("He is Mr. Smith.", outputSentences.get(0).getContent());
+    }
+
+    @Test
+    public void testManyAbbreviations() {
+        List<String> abbreviations = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            abbreviations.add("api" + i + ".call.");
+        }
+        SentenceExtractor extractor = new SentenceExtractor(
+                new Configuration.ConfigurationBuilder().build().getSymbolTable(), abbreviations);
+        List<Sentence> outputSentences = new ArrayList<>();
+        extractor.extract("Invoke api9999.call. first. Then api42.call. is done.", outputSentences, 0);
+        assertEquals(2, outputSentences.size());
+        assertEquals("Invoke api9999.call. first.", outputSentences.get(0).getContent());
+        assertEquals(" Then api42.call. is done.", outputSentences.get(1).getContent());
+    }
+
+    @Test
+    public void testSameAsRegexOverCorpus() throws IOException {
+        List<String> whiteWords = new ArrayList<>(DictionaryRegistry.getWordListFromResource(
+                "default-resources/abbreviation/default-abbreviation-list.dat", false));
+        String[] pieces = {"a", " ", ".", "?", "!", "\"", "'", "\u201d", "\u2019", "\u3002", "\u3042", "\uff0e",
+                "\uff1f", "\uff01", "\u300d", "Mr.", "a.m.", "\n"};
+        for (String lang : Arrays.asList("en", "ja")) {
+            SymbolTable symbolTable = new Configuration.ConfigurationBuilder().setLanguage(lang).build().getSymbolTable();
+            SentenceExtractor extractor = new SentenceExtractor(symbolTable);
+            EndOfSentenceDetector regexDetector =
+                    new EndOfSentenceDetector(extractor.constructEndSentencePattern(), whiteWords);
+
+            List<String> texts = new ArrayList<>(new CorpusGenerator.CorpusGeneratorBuilder()
+                    .setLanguage(lang).setFiles(20).setErrorRate(0.2).build().generateAll());
+            Random random = new Random(0);
+            for (int trial = 0; trial < 5000; trial++) {
+                StringBuilder builder = new StringBuilder();
+                int length = random.nextInt(30);
+                for (int i = 0; i < length; i++) {
+                    builder.append(pieces[random.nextInt(pieces.length)]);
+                }
+                texts.add(builder.toString());
+            }
+
+            for (String text : texts) {
+                assertArrayEquals(text, regexDetector.getSentenceEndPositions(text, 0, text.length()),
+                        extractor.getSentenceEndPositions(text, 0, text.length()));
+                for (String line : text.split("\n")) {
+                    assertEquals(line, regexDetector.getSentenceEndPosition(line), extractor.getSentenceEndPosition(line));
+                }
+            }
+        }
+    }
 }
@@ -19,7 +19,10 @@ package cc.redpen.tokenizer;
 
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertEquals;
 
@@ -47,4 +50,67 @@ public class JapaneseTokenizerTest {
         List<TokenElement> tokens = tokenizer.tokenize("");
         assertEquals(0, tokens.size());
     }
+
+    @Test
+    public void testTokenizeInParallel() {
+        String text = "今日も晴天だ。明日は雨が降るかもしれない。";
+        JapaneseTokenizer.warmUp(text, 10);
+        List<String> expected = surfaces(new JapaneseTokenizer().tokenize(text));
+        List<List<String>> results = IntStream.range(0, 100).parallel()
+                .mapToObj(i -> surfaces(new JapaneseTokenizer().tokenize(text)))
+                .collect(Collectors.toList());
+        for (List<String> result : results) {
+            assertEquals(expected, result);
+        }
+    }
+
+    @Test
+    public void testTokenOffsets() {
+        String text = "今日も晴天だ。";
+        List<TokenElement> tokens = new JapaneseTokenizer().tokenize(text);
+        int offset = 0;
+        for (TokenElement token : tokens) {
+            assertEquals(offset, token.getOffset());
+            assertEquals(token.getSurface(), text.substring(token.getOffset(), token.getEndOffset()));
+            offset = token.getEndOffset();
+        }
+        assertEquals(text.length(), offset);
+    }
+
+    @Test
+    public void testTagsAreShared() {
+        String text = "今日も晴天だ。";
+        JapaneseTokenizer tokenizer = new JapaneseTokenizer();
+        List<TokenElement> expected = tokenizer.tokenize(text);
+        int sharedTags = CompactTokenList.sharedTagsSize();
+        assertEquals(expected, tokenizer.tokenize(text));
+        assertEquals(sharedTags, CompactTokenList.sharedTagsSize());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testTokensImmutable() {
+        List<TokenElement> tokens = new JapaneseTokenizer().tokenize("今日も晴天だ。");
+        tokens.remove(0);
+    }
+
+    @Test
+    public void testTokenizeParagraph() {
+        List<String> sentences = Arrays.asList("今日も晴天だ。", "明日は雨が降るかもしれない。", "", "雨ならば傘を持つ。");
+        List<List<TokenElement>> expected = new JapaneseTokenizer().tokenize(sentences);
+        assertEquals(sentences.size(), expected.size());
+        assertEquals(expected, new JapaneseTokenizer(true).tokenize(sentences));
+    }
+
+    @Test
+    public void testTokenizeParagraphWithTokenAcrossSentences() {
+        JapaneseTokenizer tokenizer = new JapaneseTokenizer(true);
+        List<String> sentences = Arrays.asList("今日もカタ", "カナだ。");
+        List<List<TokenElement>> tokens = tokenizer.tokenize(sentences);
+        assertEquals(tokenizer.tokenize(sentences.get(0)), tokens.get(0));
+        assertEquals(tokenizer.tokenize(sentences.get(1)), tokens.get(1));
+    }
+
+    private static List<String> surfaces(List<TokenElement> tokens) {
+        return tokens.stream().map(TokenElement::getSurface).collect(Collectors.toList());
+    }
 }
@@ -19,7 +19,9 @@ package cc.redpen.tokenizer;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 
@@ -55,4 +57,54 @@ public class WhiteSpaceTokenizerTest {
         assertEquals("good", results.get(4).getSurface());
         assertEquals(0, results.get(4).getTags().size());
     }
+
+    @Test
+    public void testTokenOffsets() {
+        String sentence = "distributed(cluster) systems, are good.";
+        RedPenTokenizer tokenizer = new WhiteSpaceTokenizer();
+        List<TokenElement> results = tokenizer.tokenize(sentence);
+        assertEquals(5, results.size());
+        for (TokenElement token : results) {
+            assertEquals(token.getSurface(),
+                    sentence.substring(token.getOffset(), token.getEndOffset()));
+        }
+        assertEquals(12, results.get(1).getOffset());
+        assertEquals(19, results.get(1).getEndOffset());
+    }
+
+    @Test
+    public void testTokenizeLeadingAndTrailingDelimiters() {
+        RedPenTokenizer tokenizer = new WhiteSpaceTokenizer();
+        List<TokenElement> results = tokenizer.tokenize(" (pen) ");
+        assertEquals(2, results.size());
+        assertEquals("", results.get(0).getSurface());
+        assertEquals("pen", results.get(1).getSurface());
+        assertEquals(2, results.get(1).getOffset());
+        assertEquals(1, tokenizer.tokenize("").size());
+        assertEquals(0, tokenizer.tokenize(" . ").size());
+    }
+
+    @Test
+    public void testSameAsRegexSplit() {
+        RedPenTokenizer tokenizer = new WhiteSpaceTokenizer();
+        Random random = new Random(1);
+        String alphabet = "ab .,?()\t";
+        for (int i = 0; i < 10000; i++) {
+            StringBuilder builder = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String content = builder.toString();
+            List<String> expected = new ArrayList<>();
+            for (String word : content.replaceAll("\\.|\\,|\\?|\\(|\\)", " ").split(" +")) {
+                expected.add(word);
+            }
+            List<String> actual = new ArrayList<>();
+            for (TokenElement token : tokenizer.tokenize(content)) {
+                actual.add(token.getSurface());
+            }
+            assertEquals(content, expected, actual);
+        }
+    }
 }
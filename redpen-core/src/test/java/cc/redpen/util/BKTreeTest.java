@@ -0,0 +1,82 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BKTreeTest {
+    @Test
+    public void testSearch() {
+        BKTree tree = new BKTree();
+        for (String word : Arrays.asList("book", "books", "cake", "boo", "cape", "cart", "boon")) {
+            assertTrue(tree.add(word));
+        }
+        assertFalse(tree.add("book"));
+        assertEquals(7, tree.size());
+        assertEquals(Arrays.asList("book", "books", "boo", "boon"), tree.search("book", 1));
+        assertEquals(Arrays.asList("cake", "cape", "cart"), tree.search("cane", 2));
+        assertEquals(Collections.emptyList(), tree.search("xyz", 1));
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(Collections.emptyList(), new BKTree().search("book", 2));
+    }
+
+    @Test
+    public void testSameAsLinearSearch() {
+        Random random = new Random(1);
+        BKTree tree = new BKTree();
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            String word = randomWord(random);
+            int maxDistance = random.nextInt(4);
+            List<String> expected = new ArrayList<>();
+            for (String candidate : words) {
+                if (LevenshteinDistance.getDistance(candidate, word) <= maxDistance) {
+                    expected.add(candidate);
+                }
+            }
+            assertEquals(word, expected, tree.search(word, maxDistance));
+            if (!words.contains(word)) {
+                words.add(word);
+            }
+            tree.add(word);
+        }
+        assertEquals(words.size(), tree.size());
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int length = 1 + random.nextInt(9);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(5)));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.util;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompactWordSetTest {
+    @Test
+    public void testContains() {
+        Set<String> words = CompactWordSet.copyOf(Arrays.asList("pen", "pencil", "", "ペン"));
+        assertEquals(4, words.size());
+        assertTrue(words.contains("pen"));
+        assertTrue(words.contains("pencil"));
+        assertTrue(words.contains(""));
+        assertTrue(words.contains("ペン"));
+        assertFalse(words.contains("pe"));
+        assertFalse(words.contains("pens"));
+        assertFalse(words.contains("Pen"));
+        assertFalse(words.contains(null));
+        assertFalse(words.contains(1));
+    }
+
+    @Test
+    public void testEmpty() {
+        Set<String> words = CompactWordSet.copyOf(Collections.emptyList());
+        assertEquals(0, words.size());
+        assertFalse(words.contains(""));
+        assertFalse(words.iterator().hasNext());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutable() {
+        CompactWordSet.copyOf(Collections.singletonList("pen")).add("pencil");
+    }
+
+    @Test
+    public void testSameAsHashSet() {
+        Random random = new Random(1);
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            expected.add(randomWord(random));
+        }
+        Set<String> words = CompactWordSet.copyOf(expected);
+        assertEquals(expected, words);
+        assertEquals(words, expected);
+        assertEquals(expected.hashCode(), words.hashCode());
+        for (int i = 0; i < 20000; i++) {
+            String word = randomWord(random);
+            assertEquals(word, expected.contains(word), words.contains(word));
+        }
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        for (Set<String> expected : Arrays.asList(
+                new HashSet<>(Arrays.asList("pen", "pencil", "")),
+                new HashSet<>(Arrays.asList("pen", "ペン")),
+                Collections.<String>emptySet())) {
+            CompactWordSet words = CompactWordSet.copyOf(expected);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            words.write(output);
+            CompactWordSet read = CompactWordSet.read(ByteBuffer.wrap(output.toByteArray()));
+            assertEquals(expected, read);
+            for (String word : expected) {
+                assertTrue(read.contains(word));
+            }
+            assertFalse(read.contains("pe"));
+        }
+    }
+
+    @Test
+    public void testLowerCase() {
+        assertTrue(CompactWordSet.copyOf(Arrays.asList("pen", "ペン")).isLowerCase());
+        assertFalse(CompactWordSet.copyOf(Arrays.asList("pen", "Pencil")).isLowerCase());
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadBrokenDictionary() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CompactWordSet.copyOf(Arrays.asList("pen", "pencil")).write(output);
+        byte[] bytes = output.toByteArray();
+        CompactWordSet.read(ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 1)));
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadTextFile() throws IOException {
+        CompactWordSet.read(ByteBuffer.wrap("pen\npencil\n".getBytes()));
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int length = random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(4)));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,204 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.util;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DictionaryRegistryTest {
+    @Test
+    public void testResourceIsLoadedOnce() throws IOException {
+        String path = "default-resources/spellchecker/spellchecker-en.dat";
+        Set<String> first = DictionaryRegistry.getWordListFromResource(path, true);
+        Set<String> second = DictionaryRegistry.getWordListFromResource(path, true);
+        assertSame(first, second);
+        assertTrue(first.contains("distance"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testWordListIsUnmodifiable() throws IOException {
+        Set<String> words = DictionaryRegistry.getWordListFromResource(
+                "default-resources/invalid-word/invalid-word-en.dat", false);
+        words.add("foobar");
+    }
+
+    @Test
+    public void testFileIsReloadedWhenModified() throws IOException {
+        File file = File.createTempFile("test", "dat");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "Saitama\nGumma\n".getBytes(StandardCharsets.UTF_8));
+        Set<String> first = DictionaryRegistry.getWordList(file, false);
+        assertSame(first, DictionaryRegistry.getWordList(file, false));
+        assertEquals(2, first.size());
+
+        Files.write(file.toPath(), "Saitama\nGumma\nGifu\n".getBytes(StandardCharsets.UTF_8));
+        Set<String> second = DictionaryRegistry.getWordList(file, false);
+        assertEquals(3, second.size());
+        assertTrue(second.contains("Gifu"));
+        assertFalse(first.contains("Gifu"));
+    }
+
+    @Test
+    public void testCaseConversionIsRegisteredSeparately() throws IOException {
+        File file = File.createTempFile("test", "dat");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "Saitama\n".getBytes(StandardCharsets.UTF_8));
+        assertTrue(DictionaryRegistry.getWordList(file, false).contains("Saitama"));
+        assertTrue(DictionaryRegistry.getWordList(file, true).contains("saitama"));
+    }
+
+    @Test
+    public void testKeyValueDictionary() throws IOException {
+        File file = File.createTempFile("test", "dat");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "Saitama\t100\nGumma\t530000\n".getBytes(StandardCharsets.UTF_8));
+        Map<String, String> dictionary = DictionaryRegistry.getKeyValueDictionary(file);
+        assertSame(dictionary, DictionaryRegistry.getKeyValueDictionary(file));
+        assertEquals("100", dictionary.get("Saitama"));
+        assertEquals("530000", dictionary.get("Gumma"));
+    }
+
+    @Test
+    public void testCompiledWordList() throws IOException {
+        File file = File.createTempFile("test", ".dat");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "Saitama\nGumma\n".getBytes(StandardCharsets.UTF_8));
+        File compiled = new File(DictionaryRegistry.getCompiledPath(file.getPath(), false));
+        compiled.deleteOnExit();
+        assertFalse(DictionaryCompiler.compile(file, compiled, false));
+
+        Set<String> words = DictionaryRegistry.getWordList(compiled, false);
+        assertEquals(DictionaryRegistry.getWordList(file, false), words);
+        assertTrue(words.contains("Saitama"));
+        Set<String> lowerCaseWords = DictionaryRegistry.getWordList(compiled, true);
+        assertEquals(2, lowerCaseWords.size());
+        assertTrue(lowerCaseWords.contains("saitama"));
+        assertFalse(lowerCaseWords.contains("Saitama"));
+    }
+
+    @Test
+    public void testCompileOnlyGivenSubdirectories() throws IOException {
+        File input = Files.createTempDirectory("input").toFile();
+        File output = Files.createTempDirectory("output").toFile();
+        Files.createDirectory(new File(input, "words").toPath());
+        Files.createDirectory(new File(input, "key-value").toPath());
+        Files.write(new File(input, "words/words.dat").toPath(), "saitama\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(input, "key-value/key-value.dat").toPath(),
+                "Saitama\t100\n".getBytes(StandardCharsets.UTF_8));
+
+        DictionaryCompiler.main(input.getPath(), output.getPath(), "words");
+        assertTrue(new File(output, "words/words.dict").isFile());
+        assertFalse(new File(output, "key-value").exists());
+    }
+
+    @Test
+    public void testExtractCompiledWordListInJar() throws IOException {
+        File file = File.createTempFile("test", ".dat");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "Saitama\nGumma\n".getBytes(StandardCharsets.UTF_8));
+        File compiled = File.createTempFile("test", ".dict");
+        compiled.deleteOnExit();
+        DictionaryCompiler.compile(file, compiled, false);
+        File jar = File.createTempFile("test", ".jar");
+        jar.deleteOnExit();
+        try (JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(jar))) {
+            outputStream.putNextEntry(new JarEntry("test-resources/words.dict"));
+            Files.copy(compiled.toPath(), outputStream);
+        }
+
+        URL url = new URL("jar:" + jar.toURI() + "!/test-resources/words.dict");
+        File extracted = DictionaryRegistry.extract(url);
+        assertNotNull(extracted);
+        extracted.deleteOnExit();
+        assertTrue(extracted.getName().startsWith("words-"));
+        assertTrue(Arrays.equals(Files.readAllBytes(compiled.toPath()), Files.readAllBytes(extracted.toPath())));
+        long lastModified = extracted.lastModified();
+        assertEquals(extracted, DictionaryRegistry.extract(url));
+        assertEquals(lastModified, extracted.lastModified());
+    }
+
+    @Test
+    public void testExtractIgnoresFiles() throws IOException {
+        assertNull(DictionaryRegistry.extract(new File("not-exist.dict").toURI().toURL()));
+    }
+
+    @Test
+    public void testCompileOnlyLoadedVariant() throws IOException {
+        File input = Files.createTempDirectory("input").toFile();
+        File output = Files.createTempDirectory("output").toFile();
+        Files.createDirectory(new File(input, "lower").toPath());
+        Files.createDirectory(new File(input, "original").toPath());
+        Files.write(new File(input, "lower/words.dat").toPath(), "Saitama\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(input, "original/words.dat").toPath(), "Saitama\n".getBytes(StandardCharsets.UTF_8));
+
+        DictionaryCompiler.main(input.getPath(), output.getPath(), "lower:lower", "original");
+        assertTrue(new File(output, "lower/words.lower.dict").isFile());
+        assertFalse(new File(output, "lower/words.dict").exists());
+        assertTrue(new File(output, "original/words.dict").isFile());
+        assertFalse(new File(output, "original/words.lower.dict").exists());
+    }
+
+    @Test
+    public void testCompiledPath() {
+        assertEquals("default-resources/invalid-word/invalid-word-en.dict",
+                DictionaryRegistry.getCompiledPath("default-resources/invalid-word/invalid-word-en.dat", false));
+        assertEquals("default-resources/spellchecker/spellchecker-en.lower.dict",
+                DictionaryRegistry.getCompiledPath("default-resources/spellchecker/spellchecker-en.dat", true));
+    }
+
+    @Test
+    public void testWordTrieIsShared() throws IOException {
+        File file = File.createTempFile("test", "dat");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "Saitama\nGumma\n".getBytes(StandardCharsets.UTF_8));
+        Set<String> words = DictionaryRegistry.getWordList(file, true);
+        WordTrie trie = DictionaryRegistry.getWordTrie(words);
+        assertSame(trie, DictionaryRegistry.getWordTrie(DictionaryRegistry.getWordList(file, true)));
+        assertEquals(2, trie.size());
+        assertEquals(Arrays.asList("gumma"), trie.search("guma", 1, 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWordTrieOfUnregisteredWordList() {
+        DictionaryRegistry.getWordTrie(new HashSet<>(Arrays.asList("saitama", "gumma")));
+    }
+
+    @Test(expected = IOException.class)
+    public void testMissingFile() throws IOException {
+        DictionaryRegistry.getWordList(new File("not-exist.dat"), false);
+    }
+}
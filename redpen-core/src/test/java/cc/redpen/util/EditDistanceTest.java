@@ -0,0 +1,133 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class EditDistanceTest {
+    @Test
+    public void testDistance() {
+        assertEquals(0, EditDistance.UNIT.distance("", ""));
+        assertEquals(3, EditDistance.UNIT.distance("", "abc"));
+        assertEquals(3, EditDistance.UNIT.distance("kitten", "sitting"));
+        assertEquals(5, new EditDistance(1, 1, 2).distance("kitten", "sitting"));
+        assertEquals(1, EditDistance.UNIT.distance("インデクス", "インデックス"));
+    }
+
+    @Test
+    public void testDistanceWithin() {
+        assertEquals(3, EditDistance.UNIT.distanceWithin("kitten", "sitting", 3));
+        assertEquals(3, EditDistance.UNIT.distanceWithin("kitten", "sitting", 2));
+        assertEquals(2, EditDistance.UNIT.distanceWithin("kitten", "sitting", 1));
+        assertEquals(0, EditDistance.UNIT.distanceWithin("kitten", "sitting", -1));
+        assertEquals(5, EditDistance.UNIT.distanceWithin("a", "abcdefghij", 4));
+    }
+
+    @Test
+    public void testMatcher() {
+        EditDistance.Matcher matcher = EditDistance.UNIT.matcher("kitten");
+        assertEquals(3, matcher.distanceWithin("sitting", 3));
+        assertEquals(1, matcher.distanceWithin("mitten", 3));
+        assertEquals(0, matcher.distanceWithin("kitten", 0));
+        assertEquals(3, matcher.distanceWithin("kit", 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCost() {
+        new EditDistance(1, -1, 1);
+    }
+
+    @Test
+    public void testSameAsMatrix() {
+        Random random = new Random(1);
+        EditDistance[] distances = {
+                EditDistance.UNIT, new EditDistance(1, 1, 2), new EditDistance(3, 1, 1), new EditDistance(0, 2, 1)};
+        for (int i = 0; i < 20000; i++) {
+            // long words make sure to cover the strings not fitting in 64 bits
+            String a = randomWord(random, random.nextInt(4) == 0 ? 90 : 12);
+            String b = random.nextBoolean() ? mutate(random, a) : randomWord(random, 12);
+            EditDistance distance = distances[random.nextInt(distances.length)];
+            int expected = matrix(a, b, distance);
+            int threshold = random.nextInt(expected + 3);
+            String message = a + " " + b;
+            assertEquals(message, expected, distance.distance(a, b));
+            assertEquals(message, Math.min(expected, threshold + 1), distance.distanceWithin(a, b, threshold));
+            assertEquals(message, Math.min(expected, threshold + 1), distance.matcher(a).distanceWithin(b, threshold));
+        }
+    }
+
+    private static String randomWord(Random random, int maxLength) {
+        StringBuilder builder = new StringBuilder();
+        int length = random.nextInt(maxLength + 1);
+        for (int i = 0; i < length; i++) {
+            // characters colliding in the table of the bit-parallel algorithm
+            builder.append(random.nextInt(8) == 0 ? (char) ('a' + 128 * random.nextInt(3)) : (char) ('a' + random.nextInt(4)));
+        }
+        return builder.toString();
+    }
+
+    private static String mutate(Random random, String word) {
+        StringBuilder builder = new StringBuilder(word);
+        int edits = random.nextInt(5);
+        for (int i = 0; i < edits; i++) {
+            int position = random.nextInt(builder.length() + 1);
+            switch (random.nextInt(3)) {
+                case 0:
+                    builder.insert(position, (char) ('a' + random.nextInt(4)));
+                    break;
+                case 1:
+                    if (position < builder.length()) {
+                        builder.deleteCharAt(position);
+                    }
+                    break;
+                default:
+                    if (position < builder.length()) {
+                        builder.setCharAt(position, (char) ('a' + random.nextInt(4)));
+                    }
+            }
+        }
+        return builder.toString();
+    }
+
+    private static int matrix(String a, String b, EditDistance costs) {
+        int[][] distance = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            distance[i][0] = i * costs.getDeletionCost();
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            distance[0][j] = j * costs.getInsertionCost();
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                if (a.charAt(i - 1) == b.charAt(j - 1)) {
+                    distance[i][j] = distance[i - 1][j - 1];
+                } else {
+                    distance[i][j] = Math.min(Math.min(
+                            distance[i - 1][j] + costs.getDeletionCost(),
+                            distance[i][j - 1] + costs.getInsertionCost()),
+                            distance[i - 1][j - 1] + costs.getSubstitutionCost());
+                }
+            }
+        }
+        return distance[a.length()][b.length()];
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WordPositionMatcherTest {
+    @Test
+    public void testMatch() {
+        WordPositionMatcher matcher = new WordPositionMatcher(Arrays.asList("Mr.", "Mrs.", "a.m."));
+        BitSet positions = matcher.match("Mrs. Smith met Mr. Jones at 10 a.m. today.");
+        assertEquals(indexOfPositions(Arrays.asList("Mr.", "Mrs.", "a.m."),
+                "Mrs. Smith met Mr. Jones at 10 a.m. today."), positions);
+        assertTrue(positions.get(3));
+        assertTrue(positions.get(17));
+        assertTrue(positions.get(34));
+    }
+
+    @Test
+    public void testNoWords() {
+        WordPositionMatcher matcher = new WordPositionMatcher(Collections.emptyList());
+        assertTrue(matcher.match("He is Mr. United States.").isEmpty());
+    }
+
+    @Test
+    public void testSelfOverlappingWord() {
+        // the second occurrence overlapping the first one is not matched as String#indexOf does
+        List<String> words = Arrays.asList("a.a.");
+        assertEquals(indexOfPositions(words, "a.a.a. b."), new WordPositionMatcher(words).match("a.a.a. b."));
+        assertEquals(indexOfPositions(words, "a.a.a.a."), new WordPositionMatcher(words).match("a.a.a.a."));
+    }
+
+    @Test
+    public void testSameAsIndexOf() {
+        Random random = new Random(0);
+        String alphabet = "ab.";
+        for (int trial = 0; trial < 1000; trial++) {
+            String[] words = new String[1 + random.nextInt(5)];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = randomString(random, alphabet, 1 + random.nextInt(4));
+            }
+            String str = randomString(random, alphabet, random.nextInt(30));
+            List<String> wordList = Arrays.asList(words);
+            assertEquals(wordList + " in " + str, indexOfPositions(wordList, str),
+                    new WordPositionMatcher(wordList).match(str));
+        }
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+    private static BitSet indexOfPositions(List<String> words, String str) {
+        BitSet positions = new BitSet();
+        for (String word : words) {
+            int offset = 0;
+            int start;
+            while ((start = str.indexOf(word, offset)) != -1) {
+                positions.set(start, start + word.length());
+                offset = start + word.length();
+            }
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class WordTrieTest {
+    @Test
+    public void testSearch() {
+        WordTrie trie = new WordTrie(Arrays.asList("book", "books", "cake", "boo", "cape", "cart", "boon"));
+        assertEquals(7, trie.size());
+        assertEquals(Arrays.asList("book", "boo", "books", "boon"), trie.search("book", 1, 10));
+        assertEquals(Arrays.asList("boo", "book"), trie.search("bo", 2, 2));
+        assertEquals(Arrays.asList("cake", "cape", "cart"), trie.search("cane", 2, 10));
+        assertEquals(Collections.emptyList(), trie.search("xyz", 1, 10));
+    }
+
+    @Test
+    public void testDuplicatedWords() {
+        WordTrie trie = new WordTrie(Arrays.asList("book", "", "book", "boo", ""));
+        assertEquals(3, trie.size());
+        assertEquals(Arrays.asList("", "boo"), trie.search("b", 2, 10));
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(Collections.emptyList(), new WordTrie(Collections.emptyList()).search("book", 2, 10));
+    }
+
+    @Test
+    public void testSameAsLinearSearch() {
+        Random random = new Random(1);
+        Set<String> words = new LinkedHashSet<>();
+        for (int i = 0; i < 2000; i++) {
+            words.add(randomWord(random));
+        }
+        WordTrie trie = new WordTrie(words);
+        for (int i = 0; i < 500; i++) {
+            String word = randomWord(random);
+            List<String> expected = new ArrayList<>();
+            for (String candidate : words) {
+                if (LevenshteinDistance.getDistance(word, candidate) <= 2) {
+                    expected.add(candidate);
+                }
+            }
+            expected.sort(Comparator.comparingInt((String candidate) -> LevenshteinDistance.getDistance(word, candidate))
+                    .thenComparing(Comparator.naturalOrder()));
+            assertEquals(word, expected, trie.search(word, 2, Integer.MAX_VALUE));
+            assertEquals(word, expected.subList(0, Math.min(3, expected.size())), trie.search(word, 2, 3));
+        }
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int length = 1 + random.nextInt(7);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(5)));
+        }
+        return builder.toString();
+    }
+}
@@ -33,6 +33,8 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class KatakanaSpellCheckValidatorTest {
     @Test
@@ -65,6 +67,21 @@ public class KatakanaSpellCheckValidatorTest {
         assertEquals(st.toString(), 1, errors.size());
     }
 
+    @Test
+    public void testAllSimilarWordsAreReported() {
+        KatakanaSpellCheckValidator validator
+                = new KatakanaSpellCheckValidator();
+        List<ValidationError> errors = new ArrayList<>();
+        validator.validate(errors, new Sentence("アイウエオカ", 1));
+        validator.validate(errors, new Sentence("アイウキクケ", 2));
+        assertEquals(0, errors.size());
+        // similar to both of the words, which are not similar to each other
+        validator.validate(errors, new Sentence("アイウエクケ", 3));
+        assertEquals(2, errors.size());
+        assertTrue(errors.get(0).getMessage().contains("アイウエオカ"));
+        assertTrue(errors.get(1).getMessage().contains("アイウキクケ"));
+    }
+
     @Test
     public void testLoadDefaultDictionary() throws RedPenException {
         Configuration config = new Configuration.ConfigurationBuilder()
@@ -83,4 +100,47 @@ public class KatakanaSpellCheckValidatorTest {
         Assert.assertEquals(0, errors.get(documents.get(0)).size());
     }
 
+    @Test
+    public void testVocabularyIsNotSharedBetweenRequests() throws RedPenException {
+        Configuration config = new Configuration.ConfigurationBuilder()
+                .addValidatorConfig(new ValidatorConfiguration("KatakanaSpellCheck"))
+                .build();
+        RedPen redPen = new RedPen(config);
+
+        // consecutive words differ only in the last character, so they would be reported
+        // as similar if the vocabulary learned in one request leaked into the next one
+        for (int i = 0; i < 300; i++) {
+            Document document = new Document.DocumentBuilder()
+                    .addSection(1)
+                    .addParagraph()
+                    .addSentence("あの" + generateKatakanaWord(i) + "にバグがある", 1)
+                    .build();
+            assertEquals(0, redPen.validate(document).size());
+        }
+    }
+
+    @Test
+    public void testValidatorForRunStartsEmpty() {
+        KatakanaSpellCheckValidator validator = new KatakanaSpellCheckValidator();
+        List<ValidationError> errors = new ArrayList<>();
+        validator.validate(errors, new Sentence("あのインデクス", 1));
+        assertFalse(new KatakanaSpellCheckValidator().equals(validator));
+
+        KatakanaSpellCheckValidator copy = (KatakanaSpellCheckValidator) validator.forRun();
+        assertEquals(new KatakanaSpellCheckValidator(), copy);
+        copy.validate(errors, new Sentence("このインデックス", 2));
+        assertEquals(0, errors.size());
+        // the learned vocabulary of the original validator is kept
+        validator.validate(errors, new Sentence("このインデックス", 2));
+        assertEquals(1, errors.size());
+    }
+
+    private static String generateKatakanaWord(int seed) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < 6; i++) {
+            word.insert(0, (char) ('ア' + seed % 40));
+            seed /= 40;
+        }
+        return word.toString();
+    }
 }
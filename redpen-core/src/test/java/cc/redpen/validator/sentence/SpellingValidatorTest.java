@@ -13,6 +13,8 @@ import java.util.List;
 import java.util.Map;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
 
 public class SpellingValidatorTest {
 
@@ -142,4 +144,63 @@ public class SpellingValidatorTest {
         Map<Document, List<ValidationError>> errors = redPen.validate(documents);
         assertEquals(0, errors.get(documents.get(0)).size());
     }
+
+    @Test
+    public void testSuggestions() throws RedPenException {
+        Configuration config = new Configuration.ConfigurationBuilder()
+                .addValidatorConfig(new ValidatorConfiguration("Spelling"))
+                .setLanguage("en").build();
+
+        List<Document> documents = new ArrayList<>();
+        documents.add(new Document.DocumentBuilder()
+                .addSection(1)
+                .addParagraph()
+                .addSentence("The distanse is long", 1)
+                .build());
+
+        RedPen redPen = new RedPen(config);
+        List<ValidationError> errors = redPen.validate(documents).get(documents.get(0));
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).getMessage(), errors.get(0).getMessage().contains("distance"));
+    }
+
+    @Test
+    public void testSuggestionsFromList() throws RedPenException {
+        Configuration config = new Configuration.ConfigurationBuilder()
+                .addValidatorConfig(new ValidatorConfiguration("Spelling").addAttribute("list", "distanze"))
+                .setLanguage("en").build();
+
+        List<Document> documents = new ArrayList<>();
+        documents.add(new Document.DocumentBuilder()
+                .addSection(1)
+                .addParagraph()
+                .addSentence("The distanse is long", 1)
+                .build());
+
+        RedPen redPen = new RedPen(config);
+        List<ValidationError> errors = redPen.validate(documents).get(documents.get(0));
+        assertEquals(1, errors.size());
+        String message = errors.get(0).getMessage();
+        assertTrue(message, message.contains("distance"));
+        assertTrue(message, message.contains("distanze"));
+    }
+
+    @Test
+    public void testNoSuggestions() throws RedPenException {
+        Configuration config = new Configuration.ConfigurationBuilder()
+                .addValidatorConfig(new ValidatorConfiguration("Spelling").addAttribute("suggestions", "0"))
+                .setLanguage("en").build();
+
+        List<Document> documents = new ArrayList<>();
+        documents.add(new Document.DocumentBuilder()
+                .addSection(1)
+                .addParagraph()
+                .addSentence("The distanse is long", 1)
+                .build());
+
+        RedPen redPen = new RedPen(config);
+        List<ValidationError> errors = redPen.validate(documents).get(documents.get(0));
+        assertEquals(1, errors.size());
+        assertFalse(errors.get(0).getMessage(), errors.get(0).getMessage().contains("distance"));
+    }
 }
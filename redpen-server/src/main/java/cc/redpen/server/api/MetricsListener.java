@@ -0,0 +1,78 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.server.api;
+
+import cc.redpen.RedPen;
+import cc.redpen.RedPenException;
+import cc.redpen.metrics.RedPenMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.ObjectName;
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Enables the metrics of the RedPen instances of the server and registers them as JMX MBeans, named
+ * "cc.redpen:type=RedPenMetrics,name=<i>language</i>" with "default" for the default instance.
+ * Enabled by setting the context parameter "redpen.metrics" to true. The MBeans are unregistered
+ * when the server stops.
+ */
+public class MetricsListener implements ServletContextListener {
+    private static final Logger LOG = LoggerFactory.getLogger(MetricsListener.class);
+
+    private final List<ObjectName> names = new ArrayList<>();
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        String enabled = event.getServletContext().getInitParameter("redpen.metrics");
+        if (enabled == null || !Boolean.parseBoolean(enabled)) {
+            return;
+        }
+        // the default instance may be shared with a language, and is registered once
+        Set<RedPen> registered = Collections.newSetFromMap(new IdentityHashMap<>());
+        Map<String, RedPen> redPens = new TreeMap<>(RedPenResource.getRedPens(event.getServletContext()));
+        for (Map.Entry<String, RedPen> entry : redPens.entrySet()) {
+            RedPen redPen = entry.getValue();
+            if (!registered.add(redPen)) {
+                continue;
+            }
+            String name = entry.getKey().isEmpty() ? "default" : entry.getKey();
+            redPen.getMetrics().setEnabled(true);
+            try {
+                names.addAll(redPen.getMetrics().registerMBeans(name));
+                LOG.info("Registered metrics of \"{}\"", name);
+            } catch (RedPenException e) {
+                LOG.error("Failed to register metrics of \"" + name + "\"", e);
+            }
+        }
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        RedPenMetrics.unregisterMBeans(names);
+        names.clear();
+    }
+}
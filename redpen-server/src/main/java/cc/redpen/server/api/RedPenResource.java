@@ -51,19 +51,37 @@ public class RedPenResource {
     @Context
     private ServletContext context;
 
-    private Map<String, RedPen> langRedPenMap = new HashMap<>();
+    /**
+     * RedPen instances shared by all the requests. RedPen is safe to share between threads since each
+     * validation is an isolated run.
+     */
+    private static volatile Map<String, RedPen> langRedPenMap;
 
     private RedPen getRedPen(String lang) {
-        if (langRedPenMap.size() == 0) {
-            synchronized (this) {
-                if (langRedPenMap.size() == 0) {
+        Map<String, RedPen> redPens = getRedPens(context);
+        return redPens.getOrDefault(lang, redPens.get(""));
+    }
+
+    /**
+     * Get the RedPen instances shared by all the requests, creating them on the first call.
+     *
+     * @param context servlet context to get the configuration path from
+     * @return RedPen instances keyed by language, with the default instance keyed by ""
+     */
+    static Map<String, RedPen> getRedPens(ServletContext context) {
+        Map<String, RedPen> redPens = langRedPenMap;
+        if (redPens == null) {
+            synchronized (RedPenResource.class) {
+                redPens = langRedPenMap;
+                if (redPens == null) {
                     LOG.info("Starting Document Validator Server.");
                     try {
+                        redPens = new HashMap<>();
                         RedPen japaneseRedPen = new RedPen("/conf/redpen-conf-ja.xml");
-                        langRedPenMap.put("ja", japaneseRedPen);
+                        redPens.put("ja", japaneseRedPen);
                         RedPen englishRedPen = new RedPen(DEFAULT_INTERNAL_CONFIG_PATH);
-                        langRedPenMap.put("en", englishRedPen);
-                        langRedPenMap.put("", englishRedPen);
+                        redPens.put("en", englishRedPen);
+                        redPens.put("", englishRedPen);
 
                         String configPath;
                         if (context != null) {
@@ -71,12 +89,13 @@ public class RedPenResource {
                             if (configPath != null) {
                                 LOG.info("Config Path is set to \"{}\"", configPath);
                                 RedPen defaultRedPen = new RedPen(configPath);
-                                langRedPenMap.put("", defaultRedPen);
+                                redPens.put("", defaultRedPen);
                             } else {
                                 // if config path is not set, fallback to default config path
                                 LOG.info("Config Path is set to \"{}\"", DEFAULT_INTERNAL_CONFIG_PATH);
                             }
                         }
+                        langRedPenMap = redPens;
                         LOG.info("Document Validator Server is running.");
                     } catch (RedPenException e) {
                         LOG.error("Unable to initialize RedPen", e);
@@ -85,7 +104,7 @@ public class RedPenResource {
                 }
             }
         }
-        return langRedPenMap.getOrDefault(lang, langRedPenMap.get(""));
+        return redPens;
     }
 
     @Path("/validate")
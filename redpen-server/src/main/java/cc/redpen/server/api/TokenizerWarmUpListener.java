@@ -0,0 +1,54 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.server.api;
+
+import cc.redpen.tokenizer.JapaneseTokenizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+/**
+ * Warms up the shared Japanese tokenizer when the server starts, so that the first Japanese
+ * request does not wait for the dictionary to load. Disabled by setting the context parameter
+ * "redpen.tokenizer.warmup" to false.
+ */
+public class TokenizerWarmUpListener implements ServletContextListener {
+    private static final Logger LOG = LoggerFactory.getLogger(TokenizerWarmUpListener.class);
+
+    private static final String SAMPLE_TEXT = "最近利用されているソフトウェアの中には複数の計算機上で動作（分散）するものが多く存在します。"
+            + "このような分散ソフトウェアは複数の計算機で動作することで大量のデータを扱えたり、高負荷な状況に対処できます。";
+
+    private static final int ITERATIONS = 1000;
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        String warmUp = event.getServletContext().getInitParameter("redpen.tokenizer.warmup");
+        if (warmUp != null && !Boolean.parseBoolean(warmUp)) {
+            LOG.info("Skip warming up Japanese tokenizer");
+            return;
+        }
+        LOG.info("Warming up Japanese tokenizer");
+        JapaneseTokenizer.warmUp(SAMPLE_TEXT, ITERATIONS);
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (C) 2014 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.server.api;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockServletContext;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.servlet.ServletContextEvent;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsListenerTest {
+    @Test
+    public void testRegisterMBeans() throws Exception {
+        MockServletContext context = new MockServletContext();
+        context.addInitParameter("redpen.metrics", "true");
+        ServletContextEvent event = new ServletContextEvent(context);
+        MetricsListener listener = new MetricsListener();
+        listener.contextInitialized(event);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("cc.redpen:type=RedPenMetrics,name=" + ObjectName.quote("ja"));
+        try {
+            assertTrue(server.isRegistered(name));
+            assertEquals(true, server.getAttribute(name, "Enabled"));
+            assertFalse(server.queryNames(new ObjectName("cc.redpen:type=ValidatorMetrics,*"), null).isEmpty());
+        } finally {
+            listener.contextDestroyed(event);
+        }
+        assertFalse(server.isRegistered(name));
+        assertTrue(server.queryNames(new ObjectName("cc.redpen:*"), null).isEmpty());
+    }
+
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        MockServletContext context = new MockServletContext();
+        ServletContextEvent event = new ServletContextEvent(context);
+        MetricsListener listener = new MetricsListener();
+        listener.contextInitialized(event);
+        assertTrue(ManagementFactory.getPlatformMBeanServer()
+                .queryNames(new ObjectName("cc.redpen:*"), null).isEmpty());
+        listener.contextDestroyed(event);
+    }
+}